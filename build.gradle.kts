@@ -5,6 +5,7 @@ plugins {
     application
     `java-library`
     id("com.gradleup.shadow") version "9.0.0-rc1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "me.carscupcake"
@@ -48,6 +49,8 @@ dependencies {
     compileOnly("org.projectlombok:lombok:1.18.36")
     annotationProcessor("org.projectlombok:lombok:1.18.36")
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.0")
+    testRuntimeOnly("org.junit.vintage:junit-vintage-engine:5.10.0")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     implementation("com.google.code.gson:gson:2.10.1")
     implementation("org.slf4j:slf4j-api:2.0.13")
     implementation("org.slf4j:slf4j-simple:2.0.13")
@@ -90,3 +93,48 @@ sourceSets.main {
 tasks.processResources {
     duplicatesStrategy = DuplicatesStrategy.EXCLUDE
 }
+
+// Lists the classes that get instantiated on startup, so they do not need to be scanned at runtime (see ClassIndex)
+val classIndexDir = layout.buildDirectory.dir("generated/class-index")
+val generateClassIndex by tasks.registering(JavaExec::class) {
+    dependsOn(tasks.compileJava)
+    classpath = files(sourceSets.main.get().output.classesDirs, configurations.runtimeClasspath)
+    mainClass.set("me.carscupcake.sbremake.util.ClassIndexGenerator")
+    inputs.files(sourceSets.main.get().output.classesDirs)
+    outputs.dir(classIndexDir)
+    argumentProviders.add(CommandLineArgumentProvider { listOf(classIndexDir.get().asFile.absolutePath) })
+}
+
+sourceSets.main {
+    output.dir(mapOf("builtBy" to generateClassIndex), classIndexDir)
+}
+
+// Converts the dungeon room schematics from gzipped json into the binary form read by DungeonSchematic
+val schematicsDir = layout.buildDirectory.dir("generated/schematics")
+val convertSchematics by tasks.registering(JavaExec::class) {
+    dependsOn(tasks.compileJava)
+    classpath = files(sourceSets.main.get().output.classesDirs, configurations.runtimeClasspath)
+    mainClass.set("me.carscupcake.sbremake.worlds.impl.dungeon.DungeonSchematic")
+    inputs.dir("src/main/resources/assets/shematics")
+    outputs.dir(schematicsDir)
+    argumentProviders.add(CommandLineArgumentProvider { listOf(file("src/main/resources").absolutePath, schematicsDir.get().asFile.absolutePath) })
+}
+
+sourceSets.main {
+    output.dir(mapOf("builtBy" to convertSchematics), schematicsDir)
+}
+
+// Runs the JUnit 5 tests, and the JUnit 4 ones through the vintage engine
+tasks.test {
+    useJUnitPlatform()
+    // Config files and logs created by the tests end up in the build folder
+    workingDir = layout.buildDirectory.dir("test-run").get().asFile
+    doFirst { workingDir.mkdirs() }
+}
+
+// Benchmarks in src/jmh, run with ./gradlew jmh
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+}
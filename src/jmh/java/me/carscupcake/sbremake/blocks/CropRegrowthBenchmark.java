@@ -0,0 +1,77 @@
+package me.carscupcake.sbremake.blocks;
+
+import me.carscupcake.sbremake.worlds.InstanceRegistry;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.BlockVec;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.timer.TaskSchedule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One server tick in which every farmer breaks a crop, comparing one scheduled task per crop, like the block break
+ * listener did before, against the {@link CropRegrowth} queue. The delays are the out of range regrow times of the
+ * Hub (30 seconds) and the Farming Isles (5 seconds), so after warmup as many crops regrow per tick as get broken.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CropRegrowthBenchmark {
+    private static final int SIZE = 64;
+
+    @Param({"10", "100", "500"})
+    public int farmers;
+    @Param({"600", "100"})
+    public int delay;
+
+    private InstanceContainer instance;
+    private CropRegrowth regrowth;
+    private int next;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        // Stops the per instance objects once the instance gets unregistered
+        MinecraftServer.getGlobalEventHandler().addChild(InstanceRegistry.LISTENER);
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setChunkLoader(IChunkLoader.noop());
+        for (int x = 0; x < SIZE / 16; x++)
+            for (int z = 0; z < SIZE / 16; z++)
+                instance.loadChunk(x, z).join();
+        regrowth = CropRegrowth.get(instance);
+        regrowth.setCropsPerTick(farmers);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+
+    private BlockVec nextCrop() {
+        next = (next + 1) % (SIZE * SIZE);
+        return new BlockVec(next % SIZE, 64, next / SIZE);
+    }
+
+    @Benchmark
+    public void taskPerCrop() {
+        for (int i = 0; i < farmers; i++) {
+            BlockVec pos = nextCrop();
+            instance.setBlock(pos, Block.AIR);
+            MinecraftServer.getSchedulerManager().buildTask(() -> instance.setBlock(pos, Block.WHEAT)).delay(TaskSchedule.tick(delay)).schedule();
+        }
+        MinecraftServer.getSchedulerManager().processTick();
+    }
+
+    @Benchmark
+    public void regrowthQueue() {
+        for (int i = 0; i < farmers; i++) {
+            BlockVec pos = nextCrop();
+            instance.setBlock(pos, Block.AIR);
+            regrowth.schedule(pos, Block.WHEAT, delay, null);
+        }
+        MinecraftServer.getSchedulerManager().processTick();
+    }
+}
@@ -0,0 +1,130 @@
+package me.carscupcake.sbremake.entity;
+
+import me.carscupcake.sbremake.util.Line;
+import me.carscupcake.sbremake.worlds.InstanceRegistry;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.InstanceContainer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One ability use among a few thousand mobs: a 6 block sphere like Implosion and a 30 block line like a wand, with
+ * {@link net.minestom.server.instance.Instance#getNearbyEntities} and the chunk scan {@code getEntitiesInLine} used to
+ * do, against {@link EntityQueries}. {@link #rebuild()} is what the hash costs once per tick, however many abilities
+ * get used in it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityQueriesBenchmark {
+    private static final int SIZE = 128;
+    private static final int CASTS = 256;
+
+    @Param({"100", "1000", "5000"})
+    public int mobs;
+
+    private InstanceContainer instance;
+    private EntityQueries queries;
+    private final Pos[] from = new Pos[CASTS];
+    private final Pos[] to = new Pos[CASTS];
+    private int next;
+
+    private static final class Mob extends SkyblockEntity {
+        private Mob() {
+            super(EntityType.ZOMBIE);
+        }
+
+        @Override
+        public float getMaxHealth() {
+            return 100;
+        }
+
+        @Override
+        public String getName() {
+            return "Mob";
+        }
+    }
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        // Stops the per instance objects once the instance gets unregistered
+        MinecraftServer.getGlobalEventHandler().addChild(InstanceRegistry.LISTENER);
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setChunkLoader(IChunkLoader.noop());
+        for (int x = -SIZE / 32; x < SIZE / 32; x++)
+            for (int z = -SIZE / 32; z < SIZE / 32; z++)
+                instance.loadChunk(x, z).join();
+        Random random = new Random(0);
+        for (int i = 0; i < mobs; i++)
+            new Mob().setInstance(instance, new Pos(random.nextDouble(SIZE) - SIZE / 2d, 64, random.nextDouble(SIZE) - SIZE / 2d)).join();
+        for (int i = 0; i < CASTS; i++) {
+            from[i] = new Pos(random.nextDouble(SIZE / 2d) - SIZE / 4d, 65.6, random.nextDouble(SIZE / 2d) - SIZE / 4d);
+            to[i] = from[i].add(new Vec(30, 0, 0).rotateAroundY(random.nextDouble(Math.PI * 2)));
+        }
+        queries = EntityQueries.get(instance);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+
+    @Benchmark
+    public void nearbyEntities(Blackhole blackhole) {
+        next = (next + 1) % CASTS;
+        for (Entity entity : instance.getNearbyEntities(from[next], 6))
+            if (entity instanceof SkyblockEntity) blackhole.consume(entity);
+    }
+
+    @Benchmark
+    public void hashRange(Blackhole blackhole) {
+        next = (next + 1) % CASTS;
+        queries.forEachInRange(from[next], 6, blackhole::consume);
+    }
+
+    @Benchmark
+    public void chunkLine(Blackhole blackhole) {
+        next = (next + 1) % CASTS;
+        Pos first = from[next], second = to[next];
+        Line line = new Line(first.asVec(), second.sub(first).asVec());
+        double distance = second.distance(first);
+        for (int x = Math.min(first.chunkX(), second.chunkX()); x <= Math.max(first.chunkX(), second.chunkX()); x++)
+            for (int z = Math.min(first.chunkZ(), second.chunkZ()); z <= Math.max(first.chunkZ(), second.chunkZ()); z++)
+                for (Entity entity : instance.getChunkEntities(instance.getChunk(x, z))) {
+                    BoundingBox box = new BoundingBox(entity.getBoundingBox().width(), entity.getBoundingBox().height(), entity.getBoundingBox().depth());
+                    for (Vec point : line.getCollidePoints(box.withOffset(entity.getPosition().sub(box.width() / 2, 0, box.depth() / 2)), true))
+                        if (first.distance(point) <= distance) {
+                            blackhole.consume(entity);
+                            break;
+                        }
+                }
+    }
+
+    @Benchmark
+    public void hashLine(Blackhole blackhole) {
+        next = (next + 1) % CASTS;
+        queries.forEachOnLine(from[next], to[next], 1, blackhole::consume);
+    }
+
+    @Benchmark
+    public SkyblockEntity hashFirstOnLine() {
+        next = (next + 1) % CASTS;
+        return queries.firstOnLine(from[next], to[next]);
+    }
+
+    @Benchmark
+    public int rebuild() {
+        queries.rebuild();
+        return queries.size();
+    }
+}
@@ -0,0 +1,101 @@
+package me.carscupcake.sbremake.entity;
+
+import me.carscupcake.sbremake.worlds.InstanceRegistry;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.EntityProjectile;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.network.packet.server.play.EntityVelocityPacket;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress test with a few hundred arrows in flight at once: one server tick with a repeating task per arrow, like
+ * {@link me.carscupcake.sbremake.player.SkyblockPlayerArrow} had before, against one {@link ProjectileTicker} pass.
+ * The arrows get respawned for every iteration, so they are always flying. No players are connected, so this
+ * measures the per arrow bookkeeping, not the packets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectileTickerBenchmark {
+    @Param({"100", "300", "500"})
+    public int arrows;
+    /**
+     * True for the shared ticker, false for a task per arrow
+     */
+    @Param({"true", "false"})
+    public boolean shared;
+
+    private InstanceContainer instance;
+    private final List<EntityProjectile> spawned = new ArrayList<>();
+    private long time;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MinecraftServer.init();
+        // Stops the per instance objects once the instance gets unregistered
+        MinecraftServer.getGlobalEventHandler().addChild(InstanceRegistry.LISTENER);
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setChunkLoader(IChunkLoader.noop());
+        for (int x = -4; x < 4; x++)
+            for (int z = -4; z < 4; z++)
+                instance.loadChunk(x, z).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeArrows() {
+        spawned.forEach(EntityProjectile::remove);
+        spawned.clear();
+        MinecraftServer.getSchedulerManager().processTick();
+    }
+
+    private EntityProjectile spawn(int i) {
+        EntityProjectile projectile = new EntityProjectile(null, EntityType.ARROW);
+        projectile.setNoGravity(true);
+        projectile.setInstance(instance, new Pos(i % 32 - 16, 100, (i / 32) % 32 - 16)).join();
+        // Slow enough to stay in the loaded chunks for a whole iteration
+        projectile.setVelocity(new Vec(0.01, 0, 0.01));
+        spawned.add(projectile);
+        return projectile;
+    }
+
+    @Setup(Level.Iteration)
+    public void spawnArrows() {
+        if (shared) {
+            ProjectileTicker ticker = ProjectileTicker.get(instance);
+            for (int i = 0; i < arrows; i++)
+                ticker.add(spawn(i), true);
+            return;
+        }
+        for (int i = 0; i < arrows; i++) {
+            EntityProjectile projectile = spawn(i);
+            projectile.scheduler().buildTask(() -> {
+                if (projectile.isRemoved() || projectile.getInstance() == null || projectile.getVelocity() == Vec.ZERO)
+                    return;
+                for (Player pl : projectile.getInstance().getPlayers().stream().filter(player -> player.getDistance(projectile) < 16d * 8d).toList())
+                    pl.sendPacket(new EntityVelocityPacket(projectile.getEntityId(), projectile.getVelocity().mul(8000d / ServerFlag.SERVER_TICKS_PER_SECOND)));
+            }).repeat(Duration.ofMillis(50)).schedule();
+        }
+    }
+
+    @Benchmark
+    public void tick() {
+        instance.tick(time += 50);
+        MinecraftServer.getSchedulerManager().processTick();
+    }
+}
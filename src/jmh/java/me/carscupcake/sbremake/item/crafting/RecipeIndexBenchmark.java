@@ -0,0 +1,88 @@
+package me.carscupcake.sbremake.item.crafting;
+
+import me.carscupcake.sbremake.item.ISbItem;
+import me.carscupcake.sbremake.item.Recipe;
+import me.carscupcake.sbremake.item.SbItemStack;
+import net.minestom.server.MinecraftServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the recipe of a crafting grid by testing every loaded recipe, like the crafting table did before,
+ * against the {@link RecipeIndex}. The grids are the ingredients of loaded recipes, plus a grid without a recipe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeIndexBenchmark {
+    private List<List<SbItemStack>> grids;
+    private int next;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        ISbItem.init();
+        Recipe.init();
+        grids = new ArrayList<>();
+        for (Recipe recipe : Recipe.craftingRecipes.values()) {
+            List<SbItemStack> grid = toGrid(recipe);
+            if (grid != null && recipe.creatable(grid)) grids.add(grid);
+        }
+        List<SbItemStack> noRecipe = new ArrayList<>(Arrays.asList(new SbItemStack[9]));
+        noRecipe.replaceAll(ignored -> SbItemStack.AIR);
+        noRecipe.set(4, Objects.requireNonNull(SbItemStack.from("DIRT")));
+        grids.add(noRecipe);
+        // Builds the index outside of the measurement
+        RecipeIndex.find(noRecipe);
+    }
+
+    private static List<SbItemStack> toGrid(Recipe recipe) {
+        List<SbItemStack> grid = new ArrayList<>(Arrays.asList(new SbItemStack[9]));
+        grid.replaceAll(ignored -> SbItemStack.AIR);
+        switch (recipe) {
+            case ShapedRecipe shaped -> {
+                int i = 0;
+                for (int slot : shaped.grid().topLeftSlots()) {
+                    CraftingIngredient ingredient = shaped.ingredients().get(i++);
+                    if (ingredient != null && ingredient.items().length > 0) grid.set(slot, stack(ingredient));
+                }
+            }
+            case ShapelessRecipe shapeless -> {
+                if (shapeless.ingredients().length > 9) return null;
+                for (int i = 0; i < shapeless.ingredients().length; i++)
+                    grid.set(i, stack(shapeless.ingredients()[i]));
+            }
+            default -> {
+                return null;
+            }
+        }
+        return grid;
+    }
+
+    private static SbItemStack stack(CraftingIngredient ingredient) {
+        return ingredient.items()[0].create().withAmount(ingredient.amount());
+    }
+
+    private List<SbItemStack> nextGrid() {
+        next = (next + 1) % grids.size();
+        return grids.get(next);
+    }
+
+    @Benchmark
+    public Recipe linear() {
+        List<SbItemStack> grid = nextGrid();
+        for (Recipe recipe : Recipe.craftingRecipes.values())
+            if (recipe.creatable(grid)) return recipe;
+        return null;
+    }
+
+    @Benchmark
+    public Recipe index() {
+        return RecipeIndex.find(nextGrid());
+    }
+}
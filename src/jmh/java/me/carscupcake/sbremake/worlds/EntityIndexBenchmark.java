@@ -0,0 +1,57 @@
+package me.carscupcake.sbremake.worlds;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.InstanceContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding an entity by its id with a scan over the entities of the instance, like the packet listeners did
+ * before, against the {@link EntityIndex}. The index should cost the same for every entity count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityIndexBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int entities;
+
+    private InstanceContainer instance;
+    private int[] ids;
+    private int next;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        MinecraftServer.getGlobalEventHandler().addChild(EntityIndex.LISTENER);
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setChunkLoader(IChunkLoader.noop());
+        ids = new int[entities];
+        for (int i = 0; i < entities; i++) {
+            Entity entity = new Entity(EntityType.ZOMBIE);
+            entity.setInstance(instance, new Pos(i % 64, 0, (i / 64) % 64)).join();
+            ids[i] = entity.getEntityId();
+        }
+    }
+
+    private int nextId() {
+        next = (next + 1) % ids.length;
+        return ids[next];
+    }
+
+    @Benchmark
+    public Entity scan() {
+        int id = nextId();
+        return instance.getEntities().stream().filter(entity -> entity.getEntityId() == id).findFirst().orElse(null);
+    }
+
+    @Benchmark
+    public Entity index() {
+        return EntityIndex.get(instance, nextId());
+    }
+}
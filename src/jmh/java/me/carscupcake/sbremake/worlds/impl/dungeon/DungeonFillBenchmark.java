@@ -0,0 +1,76 @@
+package me.carscupcake.sbremake.worlds.impl.dungeon;
+
+import me.carscupcake.sbremake.util.Pos2d;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares filling the chunks of a 1x1 room block by block, like the dungeon loader did before, against
+ * {@link DungeonSchematic#fill}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DungeonFillBenchmark {
+    private static final Pos2d ROOM = new Pos2d(0, 0);
+    private static final RoomShape SHAPE = RoomShape.ONE_BY_ONE;
+
+    @Param({"NW", "NE", "SE", "SW"})
+    public Rotation rotation;
+
+    private Instance instance;
+    private DungeonSchematic schematic;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        schematic = DungeonSchematic.get(DungeonSchematic.path(RoomType.Room, SHAPE, "overgrown-3"));
+        // The rotated palette is cached after the first use, both paths should start with it
+        schematic.getPalette(rotation);
+    }
+
+    @Benchmark
+    public void perBlock(Blackhole blackhole) {
+        Block[] blocks = schematic.getPalette(rotation);
+        for (int chunkX = 0; chunkX < 2; chunkX++) {
+            for (int chunkZ = 0; chunkZ < 2; chunkZ++) {
+                Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+                for (int x = 0; x < 16; x++) {
+                    for (int y = 0; y < 140; y++) {
+                        for (int z = 0; z < 16; z++) {
+                            var pos = new Vec(x + (chunkX * 16), y, z + (chunkZ * 16));
+                            var undoRotation = SHAPE.toRelative(ROOM, pos, rotation);
+                            var index = schematic.getIndex(undoRotation.blockX(), undoRotation.blockY(), undoRotation.blockZ());
+                            if (index == DungeonSchematic.NONE) continue;
+                            var block = blocks[index];
+                            if (block.isAir()) continue;
+                            chunk.setBlock(x, y, z, block);
+                        }
+                    }
+                }
+                blackhole.consume(chunk);
+            }
+        }
+    }
+
+    @Benchmark
+    public void sectionFill(Blackhole blackhole) {
+        RoomTransform toRelative = RoomTransform.toRelative(SHAPE, ROOM, rotation);
+        for (int chunkX = 0; chunkX < 2; chunkX++) {
+            for (int chunkZ = 0; chunkZ < 2; chunkZ++) {
+                Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+                schematic.fill(chunk, toRelative, rotation, 140);
+                blackhole.consume(chunk);
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package me.carscupcake.sbremake;
 
+import me.carscupcake.sbremake.blocks.BlockBreakTable;
 import me.carscupcake.sbremake.blocks.MiningBlock;
 import me.carscupcake.sbremake.command.DebugCommand;
 import me.carscupcake.sbremake.config.ConfigFile;
+import me.carscupcake.sbremake.config.ConfigSaveService;
 import me.carscupcake.sbremake.config.ConfigSection;
 import me.carscupcake.sbremake.item.ISbItem;
 import me.carscupcake.sbremake.item.Recipe;
@@ -21,16 +23,18 @@ import me.carscupcake.sbremake.player.hotm.HotmUpgrade;
 import me.carscupcake.sbremake.player.potion.IPotion;
 import me.carscupcake.sbremake.player.potion.Potion;
 import me.carscupcake.sbremake.player.skill.impl.*;
+import me.carscupcake.sbremake.util.ClassIndex;
 import me.carscupcake.sbremake.util.EnchantmentUtils;
 import me.carscupcake.sbremake.util.PlayerBrodcastOutputStream;
 import me.carscupcake.sbremake.util.SkyblockSimpleLogger;
 import me.carscupcake.sbremake.util.item.Gui;
 import me.carscupcake.sbremake.util.lootTable.blockLoot.BlockLootTable;
+import me.carscupcake.sbremake.worlds.EntityIndex;
+import me.carscupcake.sbremake.worlds.InstanceRegistry;
 import me.carscupcake.sbremake.worlds.SkyblockWorld;
 import me.carscupcake.sbremake.worlds.Time;
 import me.carscupcake.sbremake.worlds.impl.Galatea;
-import me.carscupcake.sbremake.worlds.impl.PrivateIsle;
-import me.carscupcake.sbremake.worlds.region.Region;
+import me.carscupcake.sbremake.worlds.region.MoveTriggerIndex;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import net.minestom.server.LoggerProvider;
@@ -49,7 +53,6 @@ import net.minestom.server.network.packet.client.play.ClientConfigurationAckPack
 import net.minestom.server.network.packet.client.play.ClientDebugSampleSubscriptionPacket;
 import net.minestom.server.network.packet.server.play.DebugSamplePacket;
 import net.minestom.server.timer.TaskSchedule;
-import org.reflections.Reflections;
 import org.slf4j.event.Level;
 
 import java.io.BufferedReader;
@@ -57,13 +60,13 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
@@ -118,6 +121,7 @@ public class Main {
             System.out.println("IN: " + player.getName());
         });
         MinecraftServer.getGlobalEventHandler().addListener(PlayerBlockPlaceEvent.class, new PlayerBlockPlaceListener());
+        BlockBreakTable.init();
         MinecraftServer.getGlobalEventHandler().addListener(PlayerBlockBreakEvent.class, new PlayerBlockBreakListener());
         MinecraftServer.getGlobalEventHandler().addListener(AsyncPlayerConfigurationEvent.class, new AsyncPlayerConfigurationListener());
         MinecraftServer.getGlobalEventHandler().addListener(PlayerPacketOutEvent.class, new PacketOutListener());
@@ -131,13 +135,14 @@ public class Main {
         MinecraftServer.getGlobalEventHandler().addChild(MiningSkill.LISTENER);
         MinecraftServer.getGlobalEventHandler().addChild(Dungeoneering.LISTENER);
         MinecraftServer.getGlobalEventHandler().addChild(FishingSkill.LISTENER);
-        MinecraftServer.getGlobalEventHandler().addChild(Region.LISTENER);
+        MinecraftServer.getGlobalEventHandler().addChild(MoveTriggerIndex.LISTENER);
+        MinecraftServer.getGlobalEventHandler().addChild(EntityIndex.LISTENER);
+        MinecraftServer.getGlobalEventHandler().addChild(InstanceRegistry.LISTENER);
         MinecraftServer.getGlobalEventHandler().addChild(EnchantmentUtils.LISTENER);
         MinecraftServer.getGlobalEventHandler().addChild(HotmUpgrade.LISTENER);
         MinecraftServer.getGlobalEventHandler().addChild(Potion.LISTENER);
         MinecraftServer.getGlobalEventHandler().addChild(AlchemySkill.LISTENER);
         MinecraftServer.getGlobalEventHandler().addChild(Pets.events);
-        MinecraftServer.getGlobalEventHandler().addChild(PrivateIsle.NODE);
         MinecraftServer.getGlobalEventHandler().addChild(AccessoryBag.LISTENER);
         MinecraftServer.getGlobalEventHandler().addChild(Galatea.LISTENER);
         MinecraftServer.getGlobalEventHandler().addChild(Minion.LISTENER);
@@ -152,6 +157,7 @@ public class Main {
         for (SkyblockEnchantment enchantment : UltimateEnchantments.values())
             SkyblockEnchantment.enchantments.put(enchantment.getId(), enchantment);
         Reforge.init();
+        me.carscupcake.sbremake.item.collections.Collection.init();
         MinecraftServer.getConnectionManager().setPlayerProvider((connection, profile) -> {
             UUID configId;
             synchronized (_lock) {
@@ -176,12 +182,12 @@ public class Main {
             for (SkyblockWorld.WorldProvider provider : SkyblockWorld.getAllWorlds()) {
                 provider.remove();
             }
+            LOGGER.info("Writing {} pending config files", ConfigSaveService.getPendingCount());
+            ConfigSaveService.flush(Duration.ofSeconds(30));
         });
         CommandManager commandManager = MinecraftServer.getCommandManager();
-        Reflections reflections = new Reflections("me.carscupcake.sbremake.command");
-        for (Class<? extends Command> clazz : reflections.getSubTypesOf(Command.class)) {
+        for (Class<? extends Command> clazz : ClassIndex.getImplementations(Command.class, "me.carscupcake.sbremake.command")) {
             try {
-                if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) continue;
                 if (clazz.isAnnotationPresent(DebugCommand.class) && !IS_DEBUG) continue;
                 Constructor<? extends Command> constructor = clazz.getConstructor();
                 Command instance = constructor.newInstance();
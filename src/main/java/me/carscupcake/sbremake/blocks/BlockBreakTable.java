@@ -0,0 +1,154 @@
+package me.carscupcake.sbremake.blocks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import me.carscupcake.sbremake.item.VanillaPickaxeTier;
+import me.carscupcake.sbremake.worlds.SkyblockWorld;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup tables indexed by block state id, so handling a broken block needs one array access instead of scanning the
+ * logs, crops, ores and block tags. Everything is compiled in {@link #init()}, ores of a world that is not a
+ * {@link SkyblockWorld} type on their first lookup.
+ */
+public class BlockBreakTable {
+    /**
+     * Marks blocks that are not mined with a pickaxe in {@link #pickaxeTiers}
+     */
+    private static final byte NO_PICKAXE = -1;
+    private static final Log[] logs;
+    private static final Crop[] crops;
+    /**
+     * The tier a pickaxe needs at least, as {@link #tierLevel(VanillaPickaxeTier)}
+     */
+    private static final byte[] pickaxeTiers;
+    private static final Map<MiningBlock[], MiningBlock[]> ores = new ConcurrentHashMap<>();
+
+    static {
+        Log[] logTable = new Log[0];
+        for (Log log : Log.logs)
+            for (Block state : log.block().possibleStates())
+                logTable = put(logTable, state.stateId(), log);
+        logs = logTable;
+        Crop[] cropTable = new Crop[0];
+        for (Crop crop : Crop.crops)
+            for (Block state : crop.block().possibleStates())
+                cropTable = put(cropTable, state.stateId(), crop);
+        crops = cropTable;
+        byte[] tiers = new byte[0];
+        tiers = putTag(tiers, "assets/tags/blocks/pickaxe.json", (byte) 0);
+        tiers = putTag(tiers, "assets/tags/blocks/needs_stone_tool.json", tierLevel(VanillaPickaxeTier.Stone));
+        tiers = putTag(tiers, "assets/tags/blocks/needs_iron_tool.json", tierLevel(VanillaPickaxeTier.Iron));
+        tiers = putTag(tiers, "assets/tags/blocks/needs_diamond_tool.json", tierLevel(VanillaPickaxeTier.Diamond));
+        pickaxeTiers = tiers;
+    }
+
+    /**
+     * Compiles the tables and the ores of every world
+     */
+    public static void init() {
+        for (SkyblockWorld world : SkyblockWorld.values())
+            ores.computeIfAbsent(world.getOres(), BlockBreakTable::compileOres);
+    }
+
+    /**
+     * @return the log the block is made of, null if it is none
+     */
+    public static @Nullable Log log(Block block) {
+        int id = block.stateId();
+        return id < logs.length ? logs[id] : null;
+    }
+
+    /**
+     * @return the crop of the block, null if it is none
+     */
+    public static @Nullable Crop crop(Block block) {
+        int id = block.stateId();
+        return id < crops.length ? crops[id] : null;
+    }
+
+    /**
+     * @param worldOres the ores of a world, like {@link me.carscupcake.sbremake.worlds.SkyblockWorld.WorldProvider#ores}
+     * @return the ore of the world that is the block, null if it is none
+     */
+    public static @Nullable MiningBlock ore(MiningBlock[] worldOres, Block block) {
+        MiningBlock[] table = ores.computeIfAbsent(worldOres, BlockBreakTable::compileOres);
+        int id = block.stateId();
+        return id < table.length ? table[id] : null;
+    }
+
+    public static boolean needsPickaxe(Block block) {
+        int id = block.stateId();
+        return id < pickaxeTiers.length && pickaxeTiers[id] != NO_PICKAXE;
+    }
+
+    /**
+     * @return if a pickaxe of the tier gets drops from the block
+     */
+    public static boolean canHarvest(Block block, VanillaPickaxeTier tier) {
+        int id = block.stateId();
+        return id >= pickaxeTiers.length || pickaxeTiers[id] <= tierLevel(tier);
+    }
+
+    private static byte tierLevel(VanillaPickaxeTier tier) {
+        return switch (tier) {
+            case Wood -> 0;
+            case Stone -> 1;
+            case Iron -> 2;
+            default -> 3;
+        };
+    }
+
+    private static MiningBlock[] compileOres(MiningBlock[] worldOres) {
+        MiningBlock[] table = new MiningBlock[0];
+        // Reversed so the first ore of a block wins, like scanning the ores did
+        for (int i = worldOres.length - 1; i >= 0; i--)
+            table = put(table, worldOres[i].getBlock().stateId(), worldOres[i]);
+        return table;
+    }
+
+    private static <T> T[] put(T[] table, int id, T value) {
+        if (id >= table.length) table = Arrays.copyOf(table, Math.max(id + 1, table.length * 2));
+        table[id] = value;
+        return table;
+    }
+
+    /**
+     * Marks every state of the blocks in the tag file with the tier. Tier tags only raise blocks that are already
+     * marked as pickaxe blocks, tags referencing other tags are skipped.
+     */
+    private static byte[] putTag(byte[] tiers, String file, byte tier) {
+        ClassLoader classloader = Thread.currentThread().getContextClassLoader();
+        try (InputStream resource = classloader.getResourceAsStream(file)) {
+            JsonElement json = JsonParser.parseReader(new InputStreamReader(Objects.requireNonNull(resource)));
+            for (JsonElement element : json.getAsJsonObject().get("values").getAsJsonArray()) {
+                String key = element.getAsString();
+                if (key.startsWith("#")) continue;
+                Block block = Block.fromKey(key);
+                if (block == null) continue;
+                for (Block state : block.possibleStates()) {
+                    int id = state.stateId();
+                    if (tier > 0 && (id >= tiers.length || tiers[id] == NO_PICKAXE)) continue;
+                    if (id >= tiers.length) {
+                        int length = tiers.length;
+                        tiers = Arrays.copyOf(tiers, Math.max(id + 1, length * 2));
+                        Arrays.fill(tiers, length, tiers.length, NO_PICKAXE);
+                    }
+                    tiers[id] = (byte) Math.max(tiers[id], tier);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return tiers;
+    }
+}
@@ -0,0 +1,216 @@
+package me.carscupcake.sbremake.blocks;
+
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.worlds.InstanceRegistry;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.batch.AbsoluteBlockBatch;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Puts broken mining blocks of one instance back after their {@link MiningBlock#regenTime()}, instead of one
+ * scheduler task per broken block. The broken blocks are kept in a hashed timing wheel: every tick has a slot,
+ * a block goes into the slot of the tick it regenerates in, and each tick only looks at its own slot.
+ * Regen times longer than the wheel stay in their slot for more than one round.
+ * <p>
+ * All blocks due in a tick are set together. When the instance gets unregistered, every broken block is put back right
+ * away, so no bedrock is left behind.
+ */
+public class BlockRegeneration {
+    /**
+     * Amount of slots, a power of two so the slot is the tick masked
+     */
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+    /**
+     * From this many blocks in one tick they get set through a block batch, which sends each chunk once
+     */
+    static final int BATCH_THRESHOLD = 32;
+    private static final InstanceRegistry<BlockRegeneration> regenerations = new InstanceRegistry<>("block regeneration", BlockRegeneration::new, BlockRegeneration::tick, BlockRegeneration::restoreAll);
+
+    private final Instance instance;
+    private final Slot[] wheel = new Slot[WHEEL_SIZE];
+    private long tick = 0;
+    private int pending = 0;
+
+    private BlockRegeneration(Instance instance) {
+        this.instance = instance;
+        for (int i = 0; i < WHEEL_SIZE; i++)
+            wheel[i] = new Slot();
+    }
+
+    public static BlockRegeneration get(Instance instance) {
+        return regenerations.get(instance);
+    }
+
+    /**
+     * Regenerates the block at the position after the delay
+     *
+     * @param block what was broken, decides what the position gets reset to
+     * @param delay in ticks
+     */
+    public synchronized void schedule(Pos pos, MiningBlock block, int delay) {
+        long due = tick + Math.max(1, delay);
+        wheel[(int) (due & MASK)].add(pack(pos.blockX(), pos.blockY(), pos.blockZ()), due, block);
+        pending++;
+    }
+
+    public synchronized int getPending() {
+        return pending;
+    }
+
+    private void tick() {
+        long[] positions;
+        MiningBlock[] blocks;
+        int count;
+        synchronized (this) {
+            long now = ++tick;
+            Slot slot = wheel[(int) (now & MASK)];
+            count = slot.removeDue(now);
+            if (count == 0) return;
+            positions = slot.duePositions;
+            blocks = slot.dueBlocks;
+            pending -= count;
+        }
+        try {
+            restore(positions, blocks, count);
+        } catch (Exception e) {
+            Main.LOGGER.warn("Could not regenerate {} blocks", count, e);
+        }
+    }
+
+    private void restoreAll() {
+        long[] positions;
+        MiningBlock[] blocks;
+        int count = 0;
+        synchronized (this) {
+            positions = new long[pending];
+            blocks = new MiningBlock[pending];
+            // In the order they are due, so a block broken twice ends up like the later break resets it
+            for (int offset = 1; offset <= WHEEL_SIZE; offset++) {
+                Slot slot = wheel[(int) ((tick + offset) & MASK)];
+                for (int i = 0; i < slot.size; i++) {
+                    positions[count] = slot.positions[i];
+                    blocks[count++] = slot.blocks[i];
+                }
+                slot.clear();
+            }
+            pending = 0;
+        }
+        // The instance is being removed, unloaded chunks are not loaded again for this
+        for (int i = 0; i < count; i++)
+            setBlock(positions[i], blocks[i], null, false);
+    }
+
+    private void restore(long[] positions, MiningBlock[] blocks, int count) {
+        if (count < BATCH_THRESHOLD) {
+            for (int i = 0; i < count; i++)
+                setBlock(positions[i], blocks[i], null, true);
+            return;
+        }
+        AbsoluteBlockBatch batch = new AbsoluteBlockBatch();
+        for (int i = 0; i < count; i++)
+            setBlock(positions[i], blocks[i], batch, true);
+        batch.apply(instance, null);
+    }
+
+    /**
+     * Errors are logged per block, so one failing block does not keep the others broken
+     *
+     * @param loadChunk whether blocks in unloaded chunks get set once their chunk is loaded, otherwise they are skipped
+     */
+    private void setBlock(long packed, MiningBlock miningBlock, @Nullable AbsoluteBlockBatch batch, boolean loadChunk) {
+        int x = unpackX(packed), y = unpackY(packed), z = unpackZ(packed);
+        Pos pos = new Pos(x, y, z);
+        try {
+            Block block = miningBlock.regeneratedBlock(instance, pos);
+            if (block == null) return;
+            if (!instance.isChunkLoaded(pos)) {
+                if (loadChunk) instance.ensureSetBlockAsync(pos, block);
+            } else if (batch == null) instance.setBlock(pos, block);
+            else batch.setBlock(x, y, z, block);
+        } catch (Exception e) {
+            Main.LOGGER.warn("Could not regenerate the block at {}", pos, e);
+        }
+    }
+
+    /**
+     * Packs block coordinates the way vanilla does: 26 bits x, 26 bits z and 12 bits y
+     */
+    static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    /**
+     * The blocks of one slot, as parallel arrays. Removing swaps the last block into the gap.
+     */
+    private static final class Slot {
+        private long[] positions = new long[4];
+        private long[] due = new long[4];
+        private MiningBlock[] blocks = new MiningBlock[4];
+        private int size = 0;
+        // Reused output of removeDue
+        private long[] duePositions = new long[4];
+        private MiningBlock[] dueBlocks = new MiningBlock[4];
+
+        void add(long position, long dueTick, MiningBlock block) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                due = Arrays.copyOf(due, size * 2);
+                blocks = Arrays.copyOf(blocks, size * 2);
+            }
+            positions[size] = position;
+            due[size] = dueTick;
+            blocks[size++] = block;
+        }
+
+        /**
+         * Moves the blocks due at the tick into {@link #duePositions} and {@link #dueBlocks}, blocks of later
+         * rounds stay in the slot
+         *
+         * @return the amount of due blocks
+         */
+        int removeDue(long now) {
+            if (duePositions.length < size) {
+                duePositions = new long[positions.length];
+                dueBlocks = new MiningBlock[positions.length];
+            }
+            int count = 0;
+            int i = 0;
+            while (i < size) {
+                if (due[i] > now) {
+                    i++;
+                    continue;
+                }
+                duePositions[count] = positions[i];
+                dueBlocks[count++] = blocks[i];
+                size--;
+                positions[i] = positions[size];
+                due[i] = due[size];
+                blocks[i] = blocks[size];
+                blocks[size] = null;
+            }
+            return count;
+        }
+
+        void clear() {
+            Arrays.fill(blocks, 0, size, null);
+            size = 0;
+        }
+    }
+}
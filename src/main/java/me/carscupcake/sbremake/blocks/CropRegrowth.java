@@ -0,0 +1,113 @@
+package me.carscupcake.sbremake.blocks;
+
+import lombok.Getter;
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.worlds.InstanceRegistry;
+import net.minestom.server.coordinate.BlockVec;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.batch.AbsoluteBlockBatch;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Regrows the broken crops of one instance from a single queue, instead of one scheduler task per crop or one crop
+ * per farming crystal every two seconds. Every tick at most {@link #getCropsPerTick()} due crops regrow, crops that
+ * did not fit wait for the next tick. All crops of a tick are set together, through a block batch from
+ * {@link BlockRegeneration#BATCH_THRESHOLD} crops on. When the instance gets unregistered, every queued crop in a loaded
+ * chunk regrows right away.
+ */
+public class CropRegrowth {
+    public static final int DEFAULT_CROPS_PER_TICK = 32;
+    private static final InstanceRegistry<CropRegrowth> regrowths = new InstanceRegistry<>("crop regrowth", CropRegrowth::new, CropRegrowth::tick, CropRegrowth::regrowAll);
+
+    @Getter
+    private final Instance instance;
+    private final PriorityQueue<Regrowth> queue = new PriorityQueue<>(Comparator.comparingLong(Regrowth::due).thenComparingLong(Regrowth::sequence));
+    private long tick = 0;
+    private long sequence = 0;
+    @Getter
+    private volatile int cropsPerTick = DEFAULT_CROPS_PER_TICK;
+    /**
+     * The amount of crops that regrew in the last tick
+     */
+    @Getter
+    private volatile int lastRegrown = 0;
+
+    private CropRegrowth(Instance instance) {
+        this.instance = instance;
+    }
+
+    private record Regrowth(long due, long sequence, BlockVec pos, Block block, @Nullable FarmingCrystal crystal) {
+    }
+
+    public static CropRegrowth get(Instance instance) {
+        return regrowths.get(instance);
+    }
+
+    public static Collection<CropRegrowth> getRegrowths() {
+        return regrowths.values();
+    }
+
+    public void setCropsPerTick(int cropsPerTick) {
+        this.cropsPerTick = Math.max(1, cropsPerTick);
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Regrows the crop after the delay
+     *
+     * @param crystal the crystal regrowing it, draws a beam to the crop. Null for crops out of range of every crystal
+     */
+    public synchronized void schedule(BlockVec pos, Block block, int delay, @Nullable FarmingCrystal crystal) {
+        queue.add(new Regrowth(tick + Math.max(1, delay), sequence++, pos, block, crystal));
+    }
+
+    private void tick() {
+        List<Regrowth> due;
+        synchronized (this) {
+            long now = ++tick;
+            Regrowth first = queue.peek();
+            if (first == null || first.due() > now) {
+                lastRegrown = 0;
+                return;
+            }
+            due = new ArrayList<>(Math.min(queue.size(), cropsPerTick));
+            while (due.size() < cropsPerTick && !queue.isEmpty() && queue.peek().due() <= now)
+                due.add(queue.poll());
+        }
+        lastRegrown = due.size();
+        try {
+            regrow(due);
+        } catch (Exception e) {
+            Main.LOGGER.warn("Could not regrow {} crops", due.size(), e);
+        }
+    }
+
+    private void regrowAll() {
+        List<Regrowth> all;
+        synchronized (this) {
+            all = new ArrayList<>(queue);
+            queue.clear();
+        }
+        all.sort(queue.comparator());
+        for (Regrowth crop : all)
+            if (instance.isChunkLoaded(crop.pos()))
+                instance.setBlock(crop.pos(), crop.block());
+    }
+
+    private void regrow(List<Regrowth> due) {
+        AbsoluteBlockBatch batch = due.size() >= BlockRegeneration.BATCH_THRESHOLD ? new AbsoluteBlockBatch() : null;
+        for (Regrowth crop : due) {
+            if (!instance.isChunkLoaded(crop.pos())) instance.ensureSetBlockAsync(crop.pos(), crop.block());
+            else if (batch != null) batch.setBlock(crop.pos(), crop.block());
+            else instance.setBlock(crop.pos(), crop.block());
+            if (crop.crystal() != null) crop.crystal().beam(instance, crop.pos());
+        }
+        if (batch != null) batch.apply(instance, null);
+    }
+}
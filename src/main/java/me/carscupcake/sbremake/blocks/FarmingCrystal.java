@@ -1,11 +1,10 @@
 package me.carscupcake.sbremake.blocks;
 
-import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.util.ParticleUtils;
 import me.carscupcake.sbremake.util.TaskScheduler;
 import me.carscupcake.sbremake.util.item.ItemBuilder;
-import net.minestom.server.adventure.audience.Audiences;
 import net.minestom.server.coordinate.BlockVec;
+import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.EntityType;
@@ -16,19 +15,66 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.Material;
 import net.minestom.server.network.packet.server.play.ParticlePacket;
 import net.minestom.server.particle.Particle;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.List;
 import java.util.Random;
 
-public record FarmingCrystal(Pos location, TaskScheduler task, HashMap<BlockVec, Block> blocks) {
+/**
+ * A floating head above a farm. Broken crops in its range regrow through the {@link CropRegrowth} of the instance,
+ * the crystal draws a beam to every crop it regrows.
+ */
+public record FarmingCrystal(Pos location, TaskScheduler task) {
+    /**
+     * Ticks until a crop in range of a crystal regrows
+     */
+    public static final int REGROW_DELAY = 40;
+    public static final double RANGE = 30;
+
     public FarmingCrystal(String headTexture, Pos location, Instance instance) {
-        this(location, new CrystalTask(headTexture, location, instance), new HashMap<>());
-        CrystalTask crystalTask = (CrystalTask) task;
-        crystalTask.farmingCrystal = this;
-        crystalTask.repeatTask(1);
+        this(location, new CrystalTask(headTexture, location, instance));
+        task.repeatTask(1);
+    }
+
+    /**
+     * @return the closest crystal within {@link #RANGE} of the block, null if there is none
+     */
+    public static @Nullable FarmingCrystal closest(List<FarmingCrystal> crystals, Point block) {
+        FarmingCrystal closest = null;
+        double distance = RANGE * RANGE;
+        for (FarmingCrystal farmingCrystal : crystals) {
+            double d = farmingCrystal.location().distanceSquared(block);
+            if (d < distance) {
+                closest = farmingCrystal;
+                distance = d;
+            }
+        }
+        return closest;
+    }
 
+    /**
+     * Queues the crop to regrow, through the closest crystal if there is one in range
+     *
+     * @param outOfRangeDelay ticks until a crop out of range of every crystal regrows
+     */
+    public static void regrow(List<FarmingCrystal> crystals, Instance instance, BlockVec pos, Block block, int outOfRangeDelay) {
+        FarmingCrystal closest = closest(crystals, pos);
+        CropRegrowth.get(instance).schedule(pos, block, closest == null ? outOfRangeDelay : REGROW_DELAY, closest);
+    }
+
+    /**
+     * Draws a particle line from the crystal to the block
+     */
+    public void beam(Instance instance, BlockVec block) {
+        Pos start = location.add(0, 2, 0);
+        Vec dis = block.asVec().add(0.5).sub(start);
+        Vec dir = dis.normalize();
+        int iterations = (int) (dis.length());
+        Pos p = start;
+        for (int i = 0; i < iterations; i++) {
+            p = p.add(dir);
+            ParticleUtils.spawnParticle(instance, p, Particle.FIREWORK, 1);
+        }
     }
 
     public static class CrystalTask extends TaskScheduler {
@@ -36,11 +82,8 @@ public record FarmingCrystal(Pos location, TaskScheduler task, HashMap<BlockVec,
         private final LivingEntity entity;
         private final Pos base;
         private int i = new Random().nextInt(40);
-        private FarmingCrystal farmingCrystal;
-        private final Instance instance;
 
         public CrystalTask(String headTexture, Pos pos, Instance instance) {
-            this.instance = instance;
             this.base = pos;
             LivingEntity e = new LivingEntity(EntityType.ARMOR_STAND);
             e.setEquipment(EquipmentSlot.HELMET, new ItemBuilder(Material.PLAYER_HEAD).setHeadTexture(headTexture).build());
@@ -51,8 +94,6 @@ public record FarmingCrystal(Pos location, TaskScheduler task, HashMap<BlockVec,
             packet = new ParticlePacket(Particle.FIREWORK, base.add(0, 2, 0), new Pos(0.5, 0.5, 0.5), 0f, 1);
         }
 
-        private static final int RENDER_DISTANCE = (8 * 16) * (8 * 16);
-
         @Override
         public void run() {
             if (entity.getInstance() == null) {
@@ -60,30 +101,11 @@ public record FarmingCrystal(Pos location, TaskScheduler task, HashMap<BlockVec,
                 cancel();
                 return;
             }
-            if (entity.getChunk() != null && entity.getChunk().isLoaded()) {
-                entity.teleport(base.add(0, 0.5 * Math.sin(Math.PI * ((double) i / 20d)), 0).withYaw(i * 18));
-                Audiences.players(player -> player.getInstance() == instance && player.getPosition().distanceSquared(base) < RENDER_DISTANCE).forEachAudience(audience -> {
-                    ((SkyblockPlayer) audience).sendPacket(packet);
-                });
-            }
-            if (i == 40) {
-                i = 0;
-                Optional<Map.Entry<BlockVec, Block>> optional = farmingCrystal.blocks.entrySet().stream().findFirst();
-                if (optional.isPresent()) {
-                    Map.Entry<BlockVec, Block> entry = optional.get();
-                    instance.setBlock(entry.getKey(), entry.getValue());
-                    Vec dis = entry.getKey().asVec().add(0.5).sub(base.add(0, 2, 0));
-                    Vec dir = dis.normalize().mul(1);
-                    int iterations = (int) (dis.length());
-                    Pos p = base.add(0, 2, 0);
-                    for (int i = 0; i < iterations; i++) {
-                        p = p.add(dir);
-                        ParticleUtils.spawnParticle(instance, p, Particle.FIREWORK, 1);
-                    }
-                    farmingCrystal.blocks.remove(entry.getKey());
-                }
-            } else
-                i++;
+            i = (i + 1) % 40;
+            // Only animate while someone has the chunk of the crystal loaded
+            if (entity.getViewers().isEmpty()) return;
+            entity.teleport(base.add(0, 0.5 * Math.sin(Math.PI * ((double) i / 20d)), 0).withYaw(i * 18));
+            entity.sendPacketToViewers(packet);
         }
     }
 }
@@ -28,12 +28,6 @@ public record Log(Block block, ISbItem drop, double xp) {
     }
 
     public static Log getLog(Block block) {
-        Log log = null;
-        for (Log l : Log.logs)
-            if (Objects.requireNonNull(l.block().registry().material()).equals(block.registry().material())) {
-                log = l;
-                break;
-            }
-        return log;
+        return BlockBreakTable.log(block);
     }
 }
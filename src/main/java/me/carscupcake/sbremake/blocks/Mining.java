@@ -4,7 +4,6 @@ import me.carscupcake.sbremake.Stat;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.util.TaskScheduler;
 import net.minestom.server.coordinate.Pos;
-import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.network.packet.server.play.BlockBreakAnimationPacket;
 
@@ -17,13 +16,7 @@ public class Mining extends TaskScheduler {
     private final BlockFace face;
 
     public static void make(SkyblockPlayer player, Pos pos, BlockFace face) {
-        MiningBlock miningBlock = null;
-        Block block = player.getInstance().getBlock(pos);
-        for (MiningBlock m : player.getWorldProvider().ores(pos))
-            if (m.getBlock() == block) {
-                miningBlock = m;
-                break;
-            }
+        MiningBlock miningBlock = BlockBreakTable.ore(player.getWorldProvider().ores(pos), player.getInstance().getBlock(pos));
         if (miningBlock == null) return;
         int breakingPower = (int) player.getStat(Stat.BreakingPower);
         if (breakingPower < miningBlock.getBreakingPower()) return;
@@ -7,7 +7,6 @@ import me.carscupcake.sbremake.item.SbItemStack;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.player.skill.Skill;
 import me.carscupcake.sbremake.util.SoundType;
-import me.carscupcake.sbremake.util.TaskScheduler;
 import me.carscupcake.sbremake.worlds.SkyblockWorld;
 import net.kyori.adventure.sound.Sound;
 import net.minestom.server.MinecraftServer;
@@ -21,6 +20,8 @@ import net.minestom.server.event.player.PlayerStartDiggingEvent;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
+import org.jetbrains.annotations.Nullable;
+
 import java.time.Duration;
 import java.util.Random;
 import java.util.Set;
@@ -79,12 +80,7 @@ public abstract class MiningBlock {
     public void breakBlock(Pos pos, SkyblockPlayer player, BlockFace face) {
         Instance instance = player.getInstance();
         instance.setBlock(pos, blockIfBroken());
-        new TaskScheduler() {
-            @Override
-            public void run() {
-                reset(instance, pos);
-            }
-        }.delayTask(regenTime());
+        BlockRegeneration.get(instance).schedule(pos, this, regenTime());
         dropItems(player, pos, face);
         player.getSkill(getSkill()).addXp(getXp());
         instance.playSound(breakingSound(), pos);
@@ -108,7 +104,15 @@ public abstract class MiningBlock {
     public abstract double getXp();
 
     public void reset(Instance instance, Pos block) {
-        instance.setBlock(block, resetType());
+        Block reset = regeneratedBlock(instance, block);
+        if (reset != null) instance.setBlock(block, reset);
+    }
+
+    /**
+     * @return the block the broken position regenerates to, null to leave it as it is
+     */
+    public @Nullable Block regeneratedBlock(Instance instance, Pos block) {
+        return resetType();
     }
 
     public Sound breakingSound() {
@@ -42,9 +42,9 @@ public class Stone extends MiningBlock {
     }
 
     @Override
-    public void reset(Instance instance, Pos block) {
-        if (instance.getBlock(block) == Block.BEDROCK) return;
-        super.reset(instance, block);
+    public Block regeneratedBlock(Instance instance, Pos block) {
+        if (instance.getBlock(block) == Block.BEDROCK) return null;
+        return super.regeneratedBlock(instance, block);
     }
 
     @Override
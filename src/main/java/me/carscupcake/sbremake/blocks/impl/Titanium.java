@@ -35,10 +35,8 @@ public class Titanium extends MiningBlock {
     }
 
     @Override
-    public void reset(Instance instance, Pos block) {
-        BlockVec vec = new BlockVec(block);
-        instance.setBlock(vec, mithrilBlocks.get(vec));
-        mithrilBlocks.remove(vec);
+    public Block regeneratedBlock(Instance instance, Pos block) {
+        return mithrilBlocks.remove(new BlockVec(block));
     }
 
     @Override
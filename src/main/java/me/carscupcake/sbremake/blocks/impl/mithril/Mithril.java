@@ -1,10 +1,10 @@
 package me.carscupcake.sbremake.blocks.impl.mithril;
 
+import me.carscupcake.sbremake.blocks.BlockRegeneration;
 import me.carscupcake.sbremake.blocks.MiningBlock;
 import me.carscupcake.sbremake.blocks.impl.Titanium;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.player.hotm.impl.TitaniumInsanium;
-import me.carscupcake.sbremake.util.TaskScheduler;
 import net.minestom.server.coordinate.BlockVec;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.instance.Instance;
@@ -27,12 +27,7 @@ public abstract class Mithril extends MiningBlock {
         if (titaniumChance >= new Random().nextDouble())
             Titanium.setBlock(player.getInstance(), new BlockVec(pos), this);
         else
-            new TaskScheduler() {
-                @Override
-                public void run() {
-                    reset(instance, pos);
-                }
-            }.delayTask(regenTime());
+            BlockRegeneration.get(instance).schedule(pos, this, regenTime());
         dropItems(player, pos, face);
         player.getSkill(getSkill()).addXp(getXp());
         instance.playSound(breakingSound(), pos);
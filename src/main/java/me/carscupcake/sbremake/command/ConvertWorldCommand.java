@@ -0,0 +1,38 @@
+package me.carscupcake.sbremake.command;
+
+import me.carscupcake.sbremake.worlds.PolarWorlds;
+import me.carscupcake.sbremake.worlds.SkyblockWorld;
+import net.minestom.server.command.builder.Command;
+import net.minestom.server.command.builder.arguments.ArgumentType;
+import net.minestom.server.command.builder.arguments.ArgumentWord;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Converts the anvil world of a world type into a pre-baked polar world, see {@link PolarWorlds}.
+ * New instances of the type use the polar world, running instances are not affected.
+ */
+@DebugCommand
+public class ConvertWorldCommand extends Command {
+    public ConvertWorldCommand() {
+        super("convertworld");
+        ArgumentWord world = ArgumentType.Word("world").from(Arrays.stream(SkyblockWorld.values())
+                .filter(w -> w != SkyblockWorld.PrivateIsle && w != SkyblockWorld.Dungeon)
+                .map(SkyblockWorld::getId).toArray(String[]::new));
+        addSyntax((sender, context) -> {
+            SkyblockWorld type = SkyblockWorld.from(context.get(world));
+            assert type != null;
+            sender.sendMessage("§eConverting " + type.getId() + "...");
+            Thread.ofVirtual().start(() -> {
+                try {
+                    File file = PolarWorlds.convert(type.get());
+                    sender.sendMessage("§aConverted " + type.getId() + " into " + file.getName());
+                } catch (Exception e) {
+                    sender.sendMessage("§cCould not convert " + type.getId() + ": " + e.getMessage());
+                    throw new RuntimeException(e);
+                }
+            });
+        }, world);
+    }
+}
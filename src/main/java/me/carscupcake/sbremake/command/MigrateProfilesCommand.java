@@ -0,0 +1,20 @@
+package me.carscupcake.sbremake.command;
+
+import me.carscupcake.sbremake.config.ProfileMigrator;
+import net.minestom.server.command.builder.Command;
+
+/**
+ * Converts every profile that is still stored as json files into the binary profile format.
+ * Profiles are also converted when the player joins, this is for converting all of them at once.
+ */
+@DebugCommand
+public class MigrateProfilesCommand extends Command {
+    public MigrateProfilesCommand() {
+        super("migrateprofiles");
+        addSyntax((sender, ignored) -> Thread.ofVirtual().start(() -> {
+            sender.sendMessage("§eMigrating profiles...");
+            int migrated = ProfileMigrator.migrateAll();
+            sender.sendMessage("§aMigrated " + migrated + " profiles");
+        }));
+    }
+}
@@ -0,0 +1,29 @@
+package me.carscupcake.sbremake.command.testing;
+
+import me.carscupcake.sbremake.blocks.CropRegrowth;
+import me.carscupcake.sbremake.command.DebugCommand;
+import me.carscupcake.sbremake.player.SkyblockPlayer;
+import net.minestom.server.command.builder.Command;
+import net.minestom.server.command.builder.arguments.ArgumentType;
+import net.minestom.server.command.builder.arguments.number.ArgumentInteger;
+import net.minestom.server.command.builder.condition.Conditions;
+
+@DebugCommand
+public class CropRegrowthCommand extends Command {
+    private static final ArgumentInteger rate = ArgumentType.Integer("cropsPerTick").min(1);
+
+    public CropRegrowthCommand() {
+        super("cropregrowth");
+        addSyntax((sender, ignored) -> {
+            sender.sendMessage("§e" + CropRegrowth.getRegrowths().size() + " crop regrowth queues");
+            for (CropRegrowth regrowth : CropRegrowth.getRegrowths())
+                sender.sendMessage("§7" + regrowth.getInstance().getUuid() + ": §a" + regrowth.getQueued() + " queued§7, "
+                        + regrowth.getLastRegrown() + " regrew last tick, " + regrowth.getCropsPerTick() + " per tick");
+        });
+        addConditionalSyntax(Conditions::playerOnly, (sender, context) -> {
+            CropRegrowth regrowth = CropRegrowth.get(((SkyblockPlayer) sender).getInstance());
+            regrowth.setCropsPerTick(context.get(rate));
+            sender.sendMessage("§aCrops in this instance now regrow at up to " + regrowth.getCropsPerTick() + " per tick");
+        }, rate);
+    }
+}
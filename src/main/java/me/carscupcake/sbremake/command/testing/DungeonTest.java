@@ -4,9 +4,7 @@ import com.google.common.base.Stopwatch;
 import me.carscupcake.sbremake.Main;
 import me.carscupcake.sbremake.command.DebugCommand;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
-import me.carscupcake.sbremake.util.Pos2d;
 import me.carscupcake.sbremake.worlds.WarpLocation;
-import me.carscupcake.sbremake.worlds.impl.Dungeon;
 import me.carscupcake.sbremake.worlds.impl.dungeon.*;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.minestom.server.command.builder.Command;
@@ -36,59 +34,57 @@ public class DungeonTest extends Command {
     public DungeonTest() {
         super("dungeontest");
         setDefaultExecutor((sender, context) -> {
-            var generator = new Generator(new Room[6][6]);
-            generator.generateDoors(new Pos2d(generator.getFairy().pos().x(), generator.getFairy().pos().z()));
-            for (int x = 0; x < generator.getRooms().length; x++) {
-                for (int y = generator.getRooms()[x].length - 1; y >= 0; y--) {
-                    var z =  generator.getRooms()[x][y];
-                    if (z.pos().z() != generator.getRooms()[x].length - 1) {
-                        if (generator.getDoorsVertical()[z.pos().x()][z.pos().z()] == null) {
-                            System.out.print("|");
-                        } else {
-                            var type = generator.getDoorsVertical()[z.pos().x()][z.pos().z()];
+            var watch = System.currentTimeMillis();
+            var player = ((SkyblockPlayer) sender);
+            DungeonPool.acquire().thenAccept(dungeon -> {
+                var generator = dungeon.getGenerator();
+                for (int x = 0; x < generator.getRooms().length; x++) {
+                    for (int y = generator.getRooms()[x].length - 1; y >= 0; y--) {
+                        var z =  generator.getRooms()[x][y];
+                        if (z.pos().z() != generator.getRooms()[x].length - 1) {
+                            if (generator.getDoorsVertical()[z.pos().x()][z.pos().z()] == null) {
+                                System.out.print("|");
+                            } else {
+                                var type = generator.getDoorsVertical()[z.pos().x()][z.pos().z()];
+                                if (type == DoorType.Wither || type == DoorType.Fairy) System.out.print(ANSI_BLACK);
+                                System.out.print("-");
+                                if (type == DoorType.Wither || type == DoorType.Fairy) System.out.print(ANSI_RESET);
+                            }
+                        }
+                        var s = z.shape().toString();
+                        var len = 7 - s.length();
+                        if (len / 2 != 0) System.out.print("-".repeat(len / 2));
+                        if (z.type() == RoomType.Blood) System.out.print(ANSI_RED);
+                        if (z.type() == RoomType.Entrance) System.out.print(ANSI_GREEN);
+                        if (z.type() == RoomType.Fairy)  System.out.print(ANSI_PURPLE);
+                        if (z.type() == RoomType.Trap) System.out.print(ANSI_WHITE);
+                        if (z.type() == RoomType.Mini)   System.out.print(ANSI_YELLOW);
+                        if (z.type() == RoomType.Puzzle)   System.out.print(ANSI_BLUE);
+                        System.out.print("[" + s + "]");
+                        if (z.type() != RoomType.Room) System.out.print(ANSI_RESET);
+                        if (len / 2 != 0) System.out.print("-".repeat(len / 2));
+                    }
+                    System.out.println();
+                    for (int y = generator.getRooms()[x].length - 1; y >= 0; y--) {
+                        var z =  generator.getRooms()[x][y];
+                        if (z.pos().x() == 5) continue;
+                        System.out.print("-".repeat(4));
+                        if (generator.getDoorsHorizontal()[z.pos().x()][z.pos().z()] != null) {
+                            var type = generator.getDoorsHorizontal()[z.pos().x()][z.pos().z()];
                             if (type == DoorType.Wither || type == DoorType.Fairy) System.out.print(ANSI_BLACK);
-                            System.out.print("-");
+                            System.out.print("|");
                             if (type == DoorType.Wither || type == DoorType.Fairy) System.out.print(ANSI_RESET);
-                        }
+                        } else System.out.print("-");
+                        System.out.print("-".repeat(4));
+                        if (z.pos().z() == 5) continue;
+                        System.out.print("-");
                     }
-                    var s = z.shape().toString();
-                    var len = 7 - s.length();
-                    if (len / 2 != 0) System.out.print("-".repeat(len / 2));
-                    if (z.type() == RoomType.Blood) System.out.print(ANSI_RED);
-                    if (z.type() == RoomType.Entrance) System.out.print(ANSI_GREEN);
-                    if (z.type() == RoomType.Fairy)  System.out.print(ANSI_PURPLE);
-                    if (z.type() == RoomType.Trap) System.out.print(ANSI_WHITE);
-                    if (z.type() == RoomType.Mini)   System.out.print(ANSI_YELLOW);
-                    if (z.type() == RoomType.Puzzle)   System.out.print(ANSI_BLUE);
-                    System.out.print("[" + s + "]");
-                    if (z.type() != RoomType.Room) System.out.print(ANSI_RESET);
-                    if (len / 2 != 0) System.out.print("-".repeat(len / 2));
-                }
-                System.out.println();
-                for (int y = generator.getRooms()[x].length - 1; y >= 0; y--) {
-                    var z =  generator.getRooms()[x][y];
-                    if (z.pos().x() == 5) continue;
-                    System.out.print("-".repeat(4));
-                    if (generator.getDoorsHorizontal()[z.pos().x()][z.pos().z()] != null) {
-                        var type = generator.getDoorsHorizontal()[z.pos().x()][z.pos().z()];
-                        if (type == DoorType.Wither || type == DoorType.Fairy) System.out.print(ANSI_BLACK);
-                        System.out.print("|");
-                        if (type == DoorType.Wither || type == DoorType.Fairy) System.out.print(ANSI_RESET);
-                    } else System.out.print("-");
-                    System.out.print("-".repeat(4));
-                    if (z.pos().z() == 5) continue;
-                    System.out.print("-");
+                    System.out.println();
                 }
-                System.out.println();
-            }
-            var watch = System.currentTimeMillis();
-            var dungeon = new Dungeon(generator);
-            var player = ((SkyblockPlayer) sender);
-            dungeon.init(() -> {
                 synchronized (player) {
                     player.setWorldProvider(dungeon, WarpLocation.Dungeon);
                     var milies = System.currentTimeMillis() - watch;
-                    Main.LOGGER.debug("Dungeon init time: {}s", ((double) milies) / 1000d);
+                    Main.LOGGER.debug("Dungeon queue time: {}s", ((double) milies) / 1000d);
                 }
             });
         });
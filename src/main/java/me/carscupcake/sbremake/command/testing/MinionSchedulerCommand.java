@@ -0,0 +1,20 @@
+package me.carscupcake.sbremake.command.testing;
+
+import me.carscupcake.sbremake.command.DebugCommand;
+import me.carscupcake.sbremake.item.minion.MinionScheduler;
+import net.minestom.server.command.builder.Command;
+
+@DebugCommand
+public class MinionSchedulerCommand extends Command {
+    public MinionSchedulerCommand() {
+        super("minionscheduler");
+        addSyntax((sender, ignored) -> {
+            sender.sendMessage("§e" + MinionScheduler.getSchedulers().size() + " minion schedulers");
+            for (MinionScheduler scheduler : MinionScheduler.getSchedulers())
+                sender.sendMessage("§7" + scheduler.getInstance().getUuid() + ": §a" + scheduler.getMinionCount() + " minions§7, "
+                        + scheduler.getQueued() + " queued, " + scheduler.getLastDue() + " ran last tick, lag "
+                        + scheduler.getLastLag() + " (max " + scheduler.getMaxLag() + ") ticks"
+                        + (scheduler.isPaused() ? ", §cpaused for " + scheduler.getPausedTicks() + " ticks" : ""));
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package me.carscupcake.sbremake.command.testing;
+
+import me.carscupcake.sbremake.command.DebugCommand;
+import me.carscupcake.sbremake.player.PlayerStatCache;
+import net.minestom.server.command.builder.Command;
+
+@DebugCommand
+public class StatCacheCommand extends Command {
+    public StatCacheCommand() {
+        super("statcache");
+        addSyntax((sender, ignored) -> {
+            PlayerStatCache.setVerify(!PlayerStatCache.isVerify());
+            sender.sendMessage(PlayerStatCache.isVerify() ? "§aStat cache verification enabled" : "§cStat cache verification disabled");
+            sender.sendMessage("§7" + PlayerStatCache.getStaleReads() + " stale reads found so far");
+        });
+    }
+}
@@ -9,13 +9,17 @@ import me.carscupcake.sbremake.player.SkyblockPlayer;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.nio.file.Paths;
 
 @Getter
 public class ConfigFile extends ConfigSection {
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().setLenient().create();
     private final File file;
+    /**
+     * The profile this file is a section of, null for files outside of player profiles
+     */
+    private final PlayerProfile profile;
+    private final String name;
     public static final File DATA_PATH = new File(Paths.get("").toAbsolutePath().toString(), "data");
 
     static {
@@ -23,7 +27,17 @@ public class ConfigFile extends ConfigSection {
     }
 
     public ConfigFile(String name, SkyblockPlayer player) {
-        this(new File(getConfigFolder(player), String.format("%s.json", name)));
+        this(name, player.getProfile());
+    }
+
+    /**
+     * Opens a section of the profile, saving the file updates the section
+     */
+    public ConfigFile(String name, PlayerProfile profile) {
+        super(profile.getSection(name));
+        this.file = new File(profile.getFile().getParentFile(), String.format("%s.json", name));
+        this.profile = profile;
+        this.name = name;
     }
 
     public ConfigFile(String name) {
@@ -33,12 +47,16 @@ public class ConfigFile extends ConfigSection {
     public ConfigFile(File file) {
         super(read(file));
         this.file = file.getAbsoluteFile();
+        this.profile = null;
+        this.name = null;
     }
 
     private static JsonElement read(File file) {
+        if (ConfigSaveService.getPending(file.getAbsoluteFile()) instanceof ConfigSaveService.JsonSnapshot snapshot)
+            return snapshot.element().deepCopy();
         if (!file.exists()) return null;
-        try {
-            return gson.fromJson(new FileReader(file), JsonElement.class);
+        try (FileReader reader = new FileReader(file)) {
+            return gson.fromJson(reader, JsonElement.class);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -48,19 +66,17 @@ public class ConfigFile extends ConfigSection {
         return new File(DATA_PATH, player.getConfigId().toString());
     }
 
+    /**
+     * Queues the current content to be written by the {@link ConfigSaveService}, or stores it in the profile
+     * if this is a profile section.
+     * The content is copied, so this file can be modified again right away.
+     */
     public void save() {
-        try {
-            if (!file.exists()) {
-                file.getParentFile().mkdirs();
-                file.createNewFile();
-            }
-            FileWriter writer = new FileWriter(file);
-            gson.toJson((element == null) ? new JsonObject() : element, writer);
-            writer.flush();
-            writer.close();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        if (profile != null) {
+            profile.setSection(name, (element == null) ? new JsonObject() : element.deepCopy());
+            return;
         }
+        ConfigSaveService.submit(file, new ConfigSaveService.JsonSnapshot((element == null) ? new JsonObject() : element.deepCopy(), gson));
     }
 
 
@@ -0,0 +1,118 @@
+package me.carscupcake.sbremake.config;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import me.carscupcake.sbremake.Main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Write-behind queue for {@link ConfigFile}s and {@link PlayerProfile}s.
+ * The caller hands over a snapshot of the content, serialization and the disk write happen on the writer threads.
+ * Saving the same file again before it got written only replaces the snapshot, so it gets written once.
+ * Files are written into a temporary file first and then moved over the old one.
+ */
+public class ConfigSaveService {
+    private static final Map<File, Snapshot> pending = new ConcurrentHashMap<>();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+            Thread.ofPlatform().name("Config-Writer-", 0).daemon().factory());
+
+    /**
+     * Queues the snapshot to be written into the file
+     *
+     * @param file     the target file
+     * @param snapshot a snapshot of the content, it must not be modified afterward
+     */
+    static void submit(File file, Snapshot snapshot) {
+        if (pending.put(file, snapshot) == null) executor.execute(() -> write(file));
+    }
+
+    /**
+     * @return the snapshot that is queued for the file but not yet written, or null
+     */
+    static Snapshot getPending(File file) {
+        return pending.get(file);
+    }
+
+    /**
+     * Writes the snapshot on the calling thread, bypassing the queue
+     */
+    static void writeNow(File file, Snapshot snapshot) throws IOException {
+        writeAtomic(file.toPath(), snapshot.serialize());
+    }
+
+    private static void write(File file) {
+        Snapshot snapshot;
+        do {
+            snapshot = pending.get(file);
+            if (snapshot == null) return;
+            try {
+                writeAtomic(file.toPath(), snapshot.serialize());
+            } catch (Exception e) {
+                Main.LOGGER.error("Could not save {}", file, e);
+            }
+        } while (!pending.remove(file, snapshot));
+    }
+
+    private static void writeAtomic(Path path, byte[] content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, content);
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Blocks until every queued file is written or the timeout ran out
+     *
+     * @return true if nothing is pending anymore
+     */
+    public static boolean flush(Duration timeout) {
+        long end = System.nanoTime() + timeout.toNanos();
+        while (!pending.isEmpty()) {
+            if (System.nanoTime() > end) {
+                Main.LOGGER.warn("{} config files are still not saved", pending.size());
+                return false;
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Content of a file that is waiting to be written
+     */
+    interface Snapshot {
+        byte[] serialize() throws IOException;
+    }
+
+    record JsonSnapshot(JsonElement element, Gson gson) implements Snapshot {
+        @Override
+        public byte[] serialize() {
+            return gson.toJson(element).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -142,6 +142,17 @@ public class ConfigSection {
     private static SbItemStack jsonElementToItem(JsonElement element) {
         CompoundBinaryTag tag = computeTag(element.getAsJsonObject().get("nbt").getAsJsonObject());
         int size = element.getAsJsonObject().get("size").getAsInt();
+        return nbtToItem(tag, size);
+    }
+
+    /**
+     * Builds the item from its stored custom data, without going through json
+     *
+     * @param tag  the custom data of the item
+     * @param size the stack size
+     * @return the item or air if the id is unknown
+     */
+    public static SbItemStack nbtToItem(CompoundBinaryTag tag, int size) {
         String id = tag.getString("id");
         SbItemStack stack = SbItemStack.from(id);
         if (stack == null) {
@@ -0,0 +1,330 @@
+package me.carscupcake.sbremake.config;
+
+import com.google.gson.*;
+import lombok.Getter;
+import me.carscupcake.sbremake.item.SbItemStack;
+import net.kyori.adventure.nbt.BinaryTagIO;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.minestom.server.component.DataComponents;
+import net.minestom.server.item.component.CustomData;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Every section of a player profile, stored in one binary file ({@code data/<configId>/profile.dat}).
+ * The file is read once when the player joins and written as a whole through the {@link ConfigSaveService}.
+ * <p>
+ * Layout (version 1):
+ * <pre>
+ * int    magic ("SBPF")
+ * short  version
+ * deflated body:
+ *   int  section count
+ *   per section: byte kind, utf name, payload
+ * </pre>
+ * Json sections are stored as a tagged binary tree, item sections store the amount and the raw nbt
+ * of the custom data of every item, so items are never converted to json.
+ */
+public class PlayerProfile {
+    public static final String FILE_NAME = "profile.dat";
+    private static final int MAGIC = 0x53425046;
+    private static final short VERSION = 1;
+    private static final byte JSON_SECTION = 0;
+    private static final byte ITEM_SECTION = 1;
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte STRING = 6;
+    private static final byte ARRAY = 7;
+    private static final byte OBJECT = 8;
+
+    @Getter
+    private final File file;
+    // Stored elements are never modified, they get copied when handed out
+    private final Map<String, JsonElement> sections = new ConcurrentHashMap<>();
+    private final Map<String, SbItemStack[]> itemSections = new ConcurrentHashMap<>();
+    // Guarded by this, profiles get loaded, edited and saved from several threads
+    private int editDepth = 0;
+    private boolean dirty = false;
+
+    private PlayerProfile(File file) {
+        this.file = file.getAbsoluteFile();
+    }
+
+    public static PlayerProfile load(UUID configId) {
+        return load(new File(ConfigFile.DATA_PATH, configId.toString()));
+    }
+
+    /**
+     * Loads the profile in the folder. If there is no profile file yet, the json files of the old format
+     * get migrated
+     *
+     * @param folder the folder of the profile
+     * @return the loaded profile
+     */
+    public static PlayerProfile load(File folder) {
+        PlayerProfile profile = new PlayerProfile(new File(folder, FILE_NAME));
+        if (ConfigSaveService.getPending(profile.file) instanceof ProfileSnapshot snapshot) {
+            profile.sections.putAll(snapshot.sections());
+            profile.itemSections.putAll(snapshot.itemSections());
+            return profile;
+        }
+        if (profile.file.exists()) {
+            try {
+                profile.read(Files.readAllBytes(profile.file.toPath()));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return profile;
+        }
+        if (ProfileMigrator.hasLegacyFiles(folder)) ProfileMigrator.migrate(folder, profile);
+        return profile;
+    }
+
+    /**
+     * @return a copy of the section, or null if it does not exist
+     */
+    public JsonElement getSection(String name) {
+        JsonElement element = sections.get(name);
+        return element == null ? null : element.deepCopy();
+    }
+
+    /**
+     * @return a copy of the section, its raw element is null if it does not exist
+     */
+    public ConfigSection readSection(String name) {
+        return new ConfigSection(getSection(name));
+    }
+
+    /**
+     * @param element the new content, it must not be modified afterward
+     */
+    public synchronized void setSection(String name, JsonElement element) {
+        sections.put(name, element);
+        markDirty();
+    }
+
+    /**
+     * @return a copy of the items, empty slots are null
+     */
+    public SbItemStack[] getItems(String name) {
+        SbItemStack[] items = itemSections.get(name);
+        return items == null ? null : items.clone();
+    }
+
+    public synchronized void setItems(String name, SbItemStack[] items) {
+        itemSections.put(name, items.clone());
+        markDirty();
+    }
+
+    /**
+     * Sets a section without queueing a save, used while migrating
+     */
+    void putSection(String name, JsonElement element) {
+        sections.put(name, element);
+    }
+
+    void putItems(String name, SbItemStack[] items) {
+        itemSections.put(name, items.clone());
+    }
+
+    /**
+     * Runs the edits and writes the profile once afterward instead of once per changed section. Other threads
+     * changing or saving the profile wait until the edits are done, so no half edited profile gets saved
+     */
+    public synchronized void edit(Runnable edits) {
+        editDepth++;
+        try {
+            edits.run();
+        } finally {
+            editDepth--;
+        }
+        if (editDepth == 0 && dirty) save();
+    }
+
+    public synchronized void save() {
+        dirty = false;
+        ConfigSaveService.submit(file, new ProfileSnapshot(Map.copyOf(sections), Map.copyOf(itemSections)));
+    }
+
+    /**
+     * Writes the profile right away on the calling thread
+     */
+    synchronized void saveNow() throws IOException {
+        dirty = false;
+        ConfigSaveService.writeNow(file, new ProfileSnapshot(Map.copyOf(sections), Map.copyOf(itemSections)));
+    }
+
+    private void markDirty() {
+        dirty = true;
+        if (editDepth == 0) save();
+    }
+
+    private void read(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC) throw new IOException(file + " is not a profile");
+        short version = in.readShort();
+        if (version > VERSION) throw new IOException("Unsupported profile version " + version + " in " + file);
+        DataInputStream body = new DataInputStream(new BufferedInputStream(new InflaterInputStream(in)));
+        int count = body.readInt();
+        for (int i = 0; i < count; i++) {
+            byte kind = body.readByte();
+            String name = body.readUTF();
+            switch (kind) {
+                case JSON_SECTION -> sections.put(name, readJson(body));
+                case ITEM_SECTION -> itemSections.put(name, readItems(body));
+                default -> throw new IOException("Unknown section kind " + kind + " in " + file);
+            }
+        }
+    }
+
+    private static SbItemStack[] readItems(DataInputStream in) throws IOException {
+        SbItemStack[] items = new SbItemStack[in.readInt()];
+        for (int i = 0; i < items.length; i++) {
+            int amount = in.readInt();
+            if (amount == 0) continue;
+            CompoundBinaryTag tag = BinaryTagIO.unlimitedReader().read((DataInput) in);
+            items[i] = ConfigSection.nbtToItem(tag, amount);
+        }
+        return items;
+    }
+
+    private static void writeItems(DataOutputStream out, SbItemStack[] items) throws IOException {
+        out.writeInt(items.length);
+        for (SbItemStack item : items) {
+            if (item == null || item == SbItemStack.AIR || item.item().isAir()) {
+                out.writeInt(0);
+                continue;
+            }
+            out.writeInt(item.item().amount());
+            CustomData data = item.item().get(DataComponents.CUSTOM_DATA);
+            // Plain vanilla stacks have no custom data, they are read back as the base item of their id
+            CompoundBinaryTag tag = data == null ? CompoundBinaryTag.builder().putString("id", item.sbItem().getId()).build() : data.nbt();
+            BinaryTagIO.writer().write(tag, (DataOutput) out);
+        }
+    }
+
+    private static JsonElement readJson(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case NULL -> JsonNull.INSTANCE;
+            case FALSE -> new JsonPrimitive(false);
+            case TRUE -> new JsonPrimitive(true);
+            case INT -> new JsonPrimitive(in.readInt());
+            case LONG -> new JsonPrimitive(in.readLong());
+            case DOUBLE -> new JsonPrimitive(in.readDouble());
+            case STRING -> new JsonPrimitive(readString(in));
+            case ARRAY -> {
+                int size = in.readInt();
+                JsonArray array = new JsonArray(size);
+                for (int i = 0; i < size; i++)
+                    array.add(readJson(in));
+                yield array;
+            }
+            case OBJECT -> {
+                int size = in.readInt();
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    String key = readString(in);
+                    object.add(key, readJson(in));
+                }
+                yield object;
+            }
+            default -> throw new IOException("Unknown json tag " + type);
+        };
+    }
+
+    private static void writeJson(DataOutputStream out, JsonElement element) throws IOException {
+        switch (element) {
+            case null -> out.writeByte(NULL);
+            case JsonNull ignored -> out.writeByte(NULL);
+            case JsonPrimitive primitive when primitive.isBoolean() -> out.writeByte(primitive.getAsBoolean() ? TRUE : FALSE);
+            case JsonPrimitive primitive when primitive.isNumber() -> writeNumber(out, primitive.getAsNumber());
+            case JsonPrimitive primitive -> {
+                out.writeByte(STRING);
+                writeString(out, primitive.getAsString());
+            }
+            case JsonArray array -> {
+                out.writeByte(ARRAY);
+                out.writeInt(array.size());
+                for (JsonElement e : array)
+                    writeJson(out, e);
+            }
+            case JsonObject object -> {
+                out.writeByte(OBJECT);
+                out.writeInt(object.size());
+                for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeJson(out, entry.getValue());
+                }
+            }
+            default -> throw new IOException("Unexpected json element " + element.getClass());
+        }
+    }
+
+    private static void writeNumber(DataOutputStream out, Number number) throws IOException {
+        // Whole numbers that were never written as decimals stay whole numbers, so getAsInt keeps working
+        String text = number.toString();
+        if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+            try {
+                long l = Long.parseLong(text);
+                if (l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE) {
+                    out.writeByte(INT);
+                    out.writeInt((int) l);
+                } else {
+                    out.writeByte(LONG);
+                    out.writeLong(l);
+                }
+                return;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        out.writeByte(DOUBLE);
+        out.writeDouble(number.doubleValue());
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    record ProfileSnapshot(Map<String, JsonElement> sections,
+                           Map<String, SbItemStack[]> itemSections) implements ConfigSaveService.Snapshot {
+        @Override
+        public byte[] serialize() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(bytes);
+            header.writeInt(MAGIC);
+            header.writeShort(VERSION);
+            try (DataOutputStream body = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes)))) {
+                body.writeInt(sections.size() + itemSections.size());
+                for (Map.Entry<String, JsonElement> entry : sections.entrySet()) {
+                    body.writeByte(JSON_SECTION);
+                    body.writeUTF(entry.getKey());
+                    writeJson(body, entry.getValue());
+                }
+                for (Map.Entry<String, SbItemStack[]> entry : itemSections.entrySet()) {
+                    body.writeByte(ITEM_SECTION);
+                    body.writeUTF(entry.getKey());
+                    writeItems(body, entry.getValue());
+                }
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package me.carscupcake.sbremake.config;
+
+import com.google.gson.JsonElement;
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.item.SbItemStack;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * Converts the old per-section json files of a profile folder into a {@link PlayerProfile}.
+ * The converted json files are moved into a {@code legacy} folder next to the profile, so nothing gets lost.
+ */
+public class ProfileMigrator {
+    private static final String LEGACY_FOLDER = "legacy";
+
+    public static boolean hasLegacyFiles(File folder) {
+        File[] files = folder.listFiles(ProfileMigrator::isLegacyFile);
+        return files != null && files.length > 0;
+    }
+
+    private static boolean isLegacyFile(File file) {
+        return file.isFile() && file.getName().endsWith(".json");
+    }
+
+    /**
+     * Reads every json file of the folder into the profile, writes the profile and moves the json files away
+     *
+     * @param folder  the profile folder
+     * @param profile the empty profile of the folder
+     */
+    public static void migrate(File folder, PlayerProfile profile) {
+        File[] files = folder.listFiles(ProfileMigrator::isLegacyFile);
+        if (files == null || files.length == 0) return;
+        for (File file : files) {
+            String name = file.getName().substring(0, file.getName().length() - ".json".length());
+            ConfigFile config = new ConfigFile(file);
+            if (config.getRawElement() == null || !config.getRawElement().isJsonObject()) {
+                if (config.getRawElement() != null) profile.putSection(name, config.getRawElement());
+                continue;
+            }
+            switch (name) {
+                case "inventory" -> {
+                    int size = 0;
+                    for (String key : config.getRawElement().getAsJsonObject().keySet())
+                        size = Math.max(size, Integer.parseInt(key) + 1);
+                    SbItemStack[] items = new SbItemStack[size];
+                    for (Map.Entry<String, JsonElement> entry : config.getRawElement().getAsJsonObject().entrySet())
+                        items[Integer.parseInt(entry.getKey())] = config.get(entry.getKey(), ConfigSection.ITEM);
+                    profile.putItems(name, items);
+                }
+                case "accessoryBag" -> {
+                    profile.putItems(name, config.get("items", ConfigSection.ITEM_ARRAY, new SbItemStack[0]));
+                    config.getRawElement().getAsJsonObject().remove("items");
+                    profile.putSection(name, config.getRawElement());
+                }
+                default -> profile.putSection(name, config.getRawElement());
+            }
+        }
+        try {
+            profile.saveNow();
+            File legacy = new File(folder, LEGACY_FOLDER);
+            Files.createDirectories(legacy.toPath());
+            for (File file : files)
+                Files.move(file.toPath(), new File(legacy, file.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Main.LOGGER.info("Migrated {} config files of {} into a profile", files.length, folder.getName());
+        } catch (IOException e) {
+            Main.LOGGER.error("Could not migrate the profile {}", folder, e);
+        }
+    }
+
+    /**
+     * Migrates every profile folder in the data folder that has not been migrated yet
+     *
+     * @return the amount of migrated profiles
+     */
+    public static int migrateAll() {
+        File[] folders = ConfigFile.DATA_PATH.listFiles(File::isDirectory);
+        if (folders == null) return 0;
+        int migrated = 0;
+        for (File folder : folders) {
+            if (new File(folder, PlayerProfile.FILE_NAME).exists() || !hasLegacyFiles(folder)) continue;
+            PlayerProfile.load(folder);
+            migrated++;
+        }
+        return migrated;
+    }
+}
@@ -0,0 +1,134 @@
+package me.carscupcake.sbremake.entity;
+
+import me.carscupcake.sbremake.Main;
+import net.kyori.adventure.text.Component;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.entity.Metadata;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.packet.server.play.DestroyEntitiesPacket;
+import net.minestom.server.network.packet.server.play.EntityMetaDataPacket;
+import net.minestom.server.network.packet.server.play.SpawnEntityPacket;
+import net.minestom.server.timer.TaskSchedule;
+
+import java.util.*;
+
+/**
+ * Damage tags that only exist on the clients. A tag is an invisible marker armor stand that is spawned and removed
+ * through packets sent to the players seeing the damaged entity, the server never creates an entity for it.
+ * <p>
+ * Entity ids are reused once their tag is gone. All tags expiring in the same tick are removed with one destroy
+ * packet per player. A player never sees more than {@link #MAX_PER_VIEWER} tags at once, more tags are not sent to them.
+ */
+public class DamageIndicators {
+    public static final int MAX_PER_VIEWER = 32;
+    /**
+     * Longest lifetime in ticks, the size of the expiry ring
+     */
+    private static final int MAX_LIFETIME = 64;
+    private static final long UUID_PREFIX = 0x5B_DA_3A_6E_7A_65_00_00L;
+    // Invisible
+    private static final byte ENTITY_FLAGS = 0x20;
+    // No base plate and marker
+    private static final byte ARMOR_STAND_FLAGS = 0x08 | 0x10;
+
+    private static final Object lock = new Object();
+    private static final ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+    @SuppressWarnings("unchecked")
+    private static final List<Tag>[] expiring = new List[MAX_LIFETIME];
+    private static final Map<Player, Integer> shown = new HashMap<>();
+    private static long tick = 0;
+
+    static {
+        for (int i = 0; i < MAX_LIFETIME; i++)
+            expiring[i] = new ArrayList<>();
+        MinecraftServer.getSchedulerManager().buildTask(DamageIndicators::tick).repeat(TaskSchedule.tick(1)).schedule();
+    }
+
+    private record Tag(int id, Player[] viewers) {
+    }
+
+    /**
+     * Shows the text at the position to everyone seeing the entity, including the entity itself if it is a player
+     *
+     * @param lifetime in ticks
+     */
+    public static void spawn(Entity entity, Pos pos, String text, int lifetime) {
+        List<Player> viewers = new ArrayList<>(entity.getViewers().size() + 1);
+        if (entity instanceof Player player) viewers.add(player);
+        viewers.addAll(entity.getViewers());
+        if (viewers.isEmpty()) return;
+        int id;
+        Player[] receiving;
+        synchronized (lock) {
+            int count = 0;
+            receiving = new Player[viewers.size()];
+            for (Player viewer : viewers) {
+                int current = shown.getOrDefault(viewer, 0);
+                if (current >= MAX_PER_VIEWER) continue;
+                shown.put(viewer, current + 1);
+                receiving[count++] = viewer;
+            }
+            if (count == 0) return;
+            if (count < receiving.length) receiving = Arrays.copyOf(receiving, count);
+            Integer free = freeIds.pollFirst();
+            id = free == null ? Entity.generateId() : free;
+            long due = tick + Math.clamp(lifetime, 1, MAX_LIFETIME - 1);
+            expiring[(int) (due % MAX_LIFETIME)].add(new Tag(id, receiving));
+        }
+        SpawnEntityPacket spawn = new SpawnEntityPacket(id, new UUID(UUID_PREFIX, id), EntityType.ARMOR_STAND.id(), pos, 0, 0, (short) 0, (short) 0, (short) 0);
+        EntityMetaDataPacket meta = new EntityMetaDataPacket(id, Map.of(
+                0, Metadata.Byte(ENTITY_FLAGS),
+                2, Metadata.OptChatComponent(Component.text(text)),
+                3, Metadata.Boolean(true),
+                5, Metadata.Boolean(true),
+                15, Metadata.Byte(ARMOR_STAND_FLAGS)));
+        for (Player player : receiving) {
+            player.sendPacket(spawn);
+            player.sendPacket(meta);
+        }
+    }
+
+    /**
+     * @return the amount of tags the player currently sees
+     */
+    public static int getShown(Player player) {
+        synchronized (lock) {
+            return shown.getOrDefault(player, 0);
+        }
+    }
+
+    private static void tick() {
+        Map<Player, List<Integer>> destroy = new HashMap<>();
+        int[] ids;
+        synchronized (lock) {
+            List<Tag> due = expiring[(int) (++tick % MAX_LIFETIME)];
+            if (due.isEmpty()) return;
+            ids = new int[due.size()];
+            for (int i = 0; i < ids.length; i++) {
+                Tag tag = due.get(i);
+                ids[i] = tag.id();
+                for (Player viewer : tag.viewers()) {
+                    destroy.computeIfAbsent(viewer, player -> new ArrayList<>()).add(tag.id());
+                    int remaining = shown.getOrDefault(viewer, 1) - 1;
+                    if (remaining <= 0) shown.remove(viewer);
+                    else shown.put(viewer, remaining);
+                }
+            }
+            due.clear();
+        }
+        try {
+            for (Map.Entry<Player, List<Integer>> entry : destroy.entrySet())
+                entry.getKey().sendPacket(new DestroyEntitiesPacket(entry.getValue()));
+        } catch (Exception e) {
+            Main.LOGGER.warn("Could not remove damage tags", e);
+        }
+        // Only reused after the removal was sent, so no client sees an id spawned twice
+        synchronized (lock) {
+            for (int id : ids)
+                freeIds.addLast(id);
+        }
+    }
+}
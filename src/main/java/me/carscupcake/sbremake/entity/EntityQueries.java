@@ -0,0 +1,305 @@
+package me.carscupcake.sbremake.entity;
+
+import me.carscupcake.sbremake.worlds.InstanceRegistry;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Finds the living {@link SkyblockEntity}s of one instance around a point, in a box or along a line without going
+ * over the entities of every chunk in range. Every tick the entities get put into a hash of 8 block cells together
+ * with a copy of their position and bounding box, the queries only look at the cells in range and do not allocate.
+ * <p>
+ * The results are as old as the last rebuild, so entities that moved, died or got removed later in the same tick are
+ * still found where they were. Two hashes are rebuilt in turns, so a query that started on the last one can finish
+ * while the next one gets built. Ticks without queries skip the rebuild, the first query after them rebuilds first.
+ */
+public class EntityQueries {
+    private static final InstanceRegistry<EntityQueries> queries = new InstanceRegistry<>("entity queries", EntityQueries::new, EntityQueries::tick);
+    private static final int CELL_SHIFT = 3;
+
+    private final Instance instance;
+    private final Grid[] grids = {new Grid(), new Grid()};
+    private volatile Grid current = grids[0];
+    /**
+     * If there was a query since the last tick
+     */
+    private volatile boolean used = false;
+    /**
+     * If a tick skipped the rebuild, the hash is older than the tick
+     */
+    private volatile boolean stale = false;
+
+    private EntityQueries(Instance instance) {
+        this.instance = instance;
+        rebuild();
+    }
+
+    public static EntityQueries get(Instance instance) {
+        return queries.get(instance);
+    }
+
+    public Instance getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the amount of entities in the hash
+     */
+    public int size() {
+        return current.size;
+    }
+
+    private void tick() {
+        if (!used) {
+            stale = true;
+            return;
+        }
+        used = false;
+        rebuild();
+    }
+
+    /**
+     * @return the hash of the last rebuild, rebuilt first if it is older than the tick
+     */
+    private Grid grid() {
+        used = true;
+        if (stale) {
+            synchronized (this) {
+                if (stale) rebuild();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Puts the living entities of the instance into the hash that is not in use and swaps it in
+     */
+    synchronized void rebuild() {
+        Grid next = grids[0] == current ? grids[1] : grids[0];
+        next.clear();
+        for (Entity entity : instance.getEntities())
+            if (entity instanceof SkyblockEntity sbEntity && !sbEntity.isDead() && !sbEntity.isRemoved())
+                next.add(sbEntity);
+        next.index();
+        current = next;
+        stale = false;
+    }
+
+    /**
+     * Calls the consumer for every entity whose position is at most {@code range} blocks away from the center, the
+     * same check as {@link Instance#getNearbyEntities(Point, double)}
+     */
+    public void forEachInRange(Point center, double range, Consumer<SkyblockEntity> consumer) {
+        Grid grid = grid();
+        double x = center.x(), y = center.y(), z = center.z();
+        double rangeSquared = range * range;
+        for (int cx = cell(x - range); cx <= cell(x + range); cx++)
+            for (int cy = cell(y - range); cy <= cell(y + range); cy++)
+                for (int cz = cell(z - range); cz <= cell(z + range); cz++)
+                    for (int i = grid.head(cx, cy, cz); i >= 0; i = grid.next[i]) {
+                        double dx = grid.x[i] - x, dy = grid.y[i] - y, dz = grid.z[i] - z;
+                        if (dx * dx + dy * dy + dz * dz <= rangeSquared) consumer.accept(grid.entities[i]);
+                    }
+    }
+
+    /**
+     * Calls the consumer for every entity whose bounding box intersects the box
+     */
+    public void forEachInBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Consumer<SkyblockEntity> consumer) {
+        Grid grid = grid();
+        // Entities are hashed by their position, their bounding box can reach into the neighbouring cells
+        double reach = grid.maxHalfWidth;
+        for (int cx = cell(minX - reach); cx <= cell(maxX + reach); cx++)
+            for (int cy = cell(minY - grid.maxHeight); cy <= cell(maxY); cy++)
+                for (int cz = cell(minZ - reach); cz <= cell(maxZ + reach); cz++)
+                    for (int i = grid.head(cx, cy, cz); i >= 0; i = grid.next[i]) {
+                        double halfWidth = grid.halfWidth[i];
+                        if (grid.x[i] + halfWidth >= minX && grid.x[i] - halfWidth <= maxX
+                                && grid.y[i] + grid.height[i] >= minY && grid.y[i] <= maxY
+                                && grid.z[i] + halfWidth >= minZ && grid.z[i] - halfWidth <= maxZ)
+                            consumer.accept(grid.entities[i]);
+                    }
+    }
+
+    /**
+     * Calls the consumer for every entity whose bounding box, scaled by the multiplier around its feet, is hit by the
+     * line between the two points
+     */
+    public void forEachOnLine(Point from, Point to, double boundingBoxMultiplier, Consumer<SkyblockEntity> consumer) {
+        Grid grid = grid();
+        double reach = grid.maxHalfWidth * boundingBoxMultiplier;
+        double ox = from.x(), oy = from.y(), oz = from.z();
+        double dx = to.x() - ox, dy = to.y() - oy, dz = to.z() - oz;
+        for (int cx = cell(Math.min(ox, to.x()) - reach); cx <= cell(Math.max(ox, to.x()) + reach); cx++)
+            for (int cy = cell(Math.min(oy, to.y()) - grid.maxHeight * boundingBoxMultiplier); cy <= cell(Math.max(oy, to.y())); cy++)
+                for (int cz = cell(Math.min(oz, to.z()) - reach); cz <= cell(Math.max(oz, to.z()) + reach); cz++)
+                    for (int i = grid.head(cx, cy, cz); i >= 0; i = grid.next[i])
+                        if (grid.hit(i, boundingBoxMultiplier, ox, oy, oz, dx, dy, dz) >= 0)
+                            consumer.accept(grid.entities[i]);
+    }
+
+    /**
+     * @return the entity that the line between the two points hits first, or null if it hits none
+     */
+    public @Nullable SkyblockEntity firstOnLine(Point from, Point to) {
+        Grid grid = grid();
+        double reach = grid.maxHalfWidth;
+        double ox = from.x(), oy = from.y(), oz = from.z();
+        double dx = to.x() - ox, dy = to.y() - oy, dz = to.z() - oz;
+        SkyblockEntity first = null;
+        double closest = Double.MAX_VALUE;
+        for (int cx = cell(Math.min(ox, to.x()) - reach); cx <= cell(Math.max(ox, to.x()) + reach); cx++)
+            for (int cy = cell(Math.min(oy, to.y()) - grid.maxHeight); cy <= cell(Math.max(oy, to.y())); cy++)
+                for (int cz = cell(Math.min(oz, to.z()) - reach); cz <= cell(Math.max(oz, to.z()) + reach); cz++)
+                    for (int i = grid.head(cx, cy, cz); i >= 0; i = grid.next[i]) {
+                        double t = grid.hit(i, 1, ox, oy, oz, dx, dy, dz);
+                        if (t >= 0 && t < closest) {
+                            closest = t;
+                            first = grid.entities[i];
+                        }
+                    }
+        return first;
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long key(int cx, int cy, int cz) {
+        return ((long) (cx & 0x3FFFFFF) << 38) | ((long) (cz & 0x3FFFFFF) << 12) | (cy & 0xFFF);
+    }
+
+    /**
+     * The entities of one rebuild. The entities of a cell are a linked list through {@link #next}, the cells are an
+     * open addressing table from the cell key to the first entity of the cell.
+     */
+    private static final class Grid {
+        private SkyblockEntity[] entities = new SkyblockEntity[64];
+        private double[] x = new double[64], y = new double[64], z = new double[64];
+        private double[] halfWidth = new double[64], height = new double[64];
+        private long[] keys = new long[64];
+        private int[] next = new int[64];
+        private long[] tableKeys = new long[128];
+        private int[] tableHeads = new int[128];
+        private int size;
+        private double maxHalfWidth;
+        private double maxHeight;
+
+        private void clear() {
+            Arrays.fill(entities, 0, size, null);
+            size = 0;
+            maxHalfWidth = 0;
+            maxHeight = 0;
+        }
+
+        private void add(SkyblockEntity entity) {
+            if (size == entities.length) grow();
+            Pos position = entity.getPosition();
+            BoundingBox boundingBox = entity.getBoundingBox();
+            entities[size] = entity;
+            x[size] = position.x();
+            y[size] = position.y();
+            z[size] = position.z();
+            halfWidth[size] = Math.max(boundingBox.width(), boundingBox.depth()) / 2;
+            height[size] = boundingBox.height();
+            keys[size] = key(cell(position.x()), cell(position.y()), cell(position.z()));
+            maxHalfWidth = Math.max(maxHalfWidth, halfWidth[size]);
+            maxHeight = Math.max(maxHeight, height[size]);
+            size++;
+        }
+
+        private void grow() {
+            int length = entities.length * 2;
+            entities = Arrays.copyOf(entities, length);
+            x = Arrays.copyOf(x, length);
+            y = Arrays.copyOf(y, length);
+            z = Arrays.copyOf(z, length);
+            halfWidth = Arrays.copyOf(halfWidth, length);
+            height = Arrays.copyOf(height, length);
+            keys = Arrays.copyOf(keys, length);
+            next = Arrays.copyOf(next, length);
+        }
+
+        private void index() {
+            // At most half full, so the probing stays short
+            if (tableKeys.length < size * 2) {
+                int length = Integer.highestOneBit(size * 2 - 1) << 1;
+                tableKeys = new long[length];
+                tableHeads = new int[length];
+            }
+            Arrays.fill(tableHeads, -1);
+            for (int i = 0; i < size; i++) {
+                int slot = slot(keys[i]);
+                next[i] = tableHeads[slot];
+                tableKeys[slot] = keys[i];
+                tableHeads[slot] = i;
+            }
+        }
+
+        /**
+         * @return the slot of the key, or the empty slot where it would go
+         */
+        private int slot(long key) {
+            int mask = tableKeys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (tableHeads[slot] >= 0 && tableKeys[slot] != key) slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        /**
+         * @return the first entity of the cell, or -1 if the cell is empty
+         */
+        private int head(int cx, int cy, int cz) {
+            return tableHeads[slot(key(cx, cy, cz))];
+        }
+
+        /**
+         * Slab test of the line against the bounding box of the entity
+         *
+         * @return how far along the line the box is hit, from 0 to 1, or -1 if it is missed
+         */
+        private double hit(int i, double multiplier, double ox, double oy, double oz, double dx, double dy, double dz) {
+            double w = halfWidth[i] * multiplier;
+            double enter = 0, exit = 1;
+            for (int axis = 0; axis < 3; axis++) {
+                double origin, direction, min, max;
+                switch (axis) {
+                    case 0 -> {
+                        origin = ox;
+                        direction = dx;
+                        min = x[i] - w;
+                        max = x[i] + w;
+                    }
+                    case 1 -> {
+                        origin = oy;
+                        direction = dy;
+                        min = y[i];
+                        max = y[i] + height[i] * multiplier;
+                    }
+                    default -> {
+                        origin = oz;
+                        direction = dz;
+                        min = z[i] - w;
+                        max = z[i] + w;
+                    }
+                }
+                if (direction == 0) {
+                    if (origin < min || origin > max) return -1;
+                    continue;
+                }
+                double t1 = (min - origin) / direction, t2 = (max - origin) / direction;
+                enter = Math.max(enter, Math.min(t1, t2));
+                exit = Math.min(exit, Math.max(t1, t2));
+                if (enter > exit) return -1;
+            }
+            return enter;
+        }
+    }
+}
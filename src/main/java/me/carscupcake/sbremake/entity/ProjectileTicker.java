@@ -0,0 +1,95 @@
+package me.carscupcake.sbremake.entity;
+
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.worlds.InstanceRegistry;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.EntityProjectile;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.network.packet.server.play.EntityVelocityPacket;
+import net.minestom.server.network.packet.server.play.ParticlePacket;
+import net.minestom.server.particle.Particle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Syncs the velocity of every player shot projectile in one instance from a single repeating task, instead of one
+ * task per projectile. Every tick each flying projectile sends one velocity packet to its viewers, and crit particles
+ * if it was added with them.
+ * <p>
+ * Removed projectiles are dropped in the next pass before anything is sent for them, projectiles that changed their
+ * instance move to the ticker of the new instance.
+ */
+public class ProjectileTicker {
+    private static final InstanceRegistry<ProjectileTicker> tickers = new InstanceRegistry<>("projectile ticker", ProjectileTicker::new, ProjectileTicker::tick);
+    /**
+     * Converts blocks per tick into the velocity unit of the packet
+     */
+    private static final double VELOCITY_FACTOR = 8000d / ServerFlag.SERVER_TICKS_PER_SECOND;
+
+    private final Instance instance;
+    private final List<Entry> projectiles = new ArrayList<>();
+
+    private ProjectileTicker(Instance instance) {
+        this.instance = instance;
+    }
+
+    private record Entry(EntityProjectile projectile, boolean critParticles) {
+    }
+
+    public static ProjectileTicker get(Instance instance) {
+        return tickers.get(instance);
+    }
+
+    /**
+     * Syncs the projectile until it gets removed, it may still be spawning into the instance
+     */
+    public synchronized void add(EntityProjectile projectile, boolean critParticles) {
+        projectiles.add(new Entry(projectile, critParticles));
+    }
+
+    public synchronized int getProjectiles() {
+        return projectiles.size();
+    }
+
+    public Instance getInstance() {
+        return instance;
+    }
+
+    /**
+     * Removes without shifting, the order of the projectiles does not matter
+     */
+    private void removeAt(int i) {
+        int last = projectiles.size() - 1;
+        projectiles.set(i, projectiles.get(last));
+        projectiles.remove(last);
+    }
+
+    synchronized void tick() {
+        int i = 0;
+        while (i < projectiles.size()) {
+            Entry entry = projectiles.get(i);
+            EntityProjectile projectile = entry.projectile();
+            Instance current = projectile.getInstance();
+            if (projectile.isRemoved() || (current != null && current != instance)) {
+                removeAt(i);
+                if (!projectile.isRemoved()) get(current).add(projectile, entry.critParticles());
+                continue;
+            }
+            i++;
+            // Not spawned yet
+            if (current == null) continue;
+            Vec velocity = projectile.getVelocity();
+            if (velocity.isZero() || projectile.getViewers().isEmpty()) continue;
+            try {
+                projectile.sendPacketToViewers(new EntityVelocityPacket(projectile.getEntityId(), velocity.mul(VELOCITY_FACTOR)));
+                if (entry.critParticles())
+                    projectile.sendPacketToViewers(new ParticlePacket(Particle.CRIT, projectile.getPosition(), Pos.ZERO, 0, 1));
+            } catch (Exception e) {
+                Main.LOGGER.warn("Could not sync projectile {}", projectile.getEntityId(), e);
+            }
+        }
+    }
+}
@@ -48,6 +48,7 @@ import java.time.Duration;
 import java.time.temporal.TemporalUnit;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 
 @Getter
@@ -88,30 +89,21 @@ public abstract class SkyblockEntity extends EntityCreature {
     public static void spawnDamageTag(SkyblockEntity entity, String tag) {
         //in case the entity got removed in the damage process
         if (entity.instance == null) return;
-        EntityCreature creature = new EntityCreature(EntityType.ARMOR_STAND, UUID.randomUUID());
-        creature.setCustomName(Component.text(tag));
-        creature.setCustomNameVisible(true);
-        creature.setInvisible(true);
-        creature.setNoGravity(true);
-        creature.setInvulnerable(true);
-        ArmorStandMeta meta = (ArmorStandMeta) creature.getEntityMeta();
-        meta.setHasNoBasePlate(true);
-        meta.setMarker(true);
         BoundingBox bb = entity.getBoundingBox();
-        int random = new Random().nextInt(4);
-        double x = switch (random) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int side = random.nextInt(4);
+        double x = switch (side) {
             case 0 -> bb.maxX() + 0.5;
             case 2 -> bb.minX() - 0.5;
             default -> 0;
         };
-        double z = switch (random) {
+        double z = switch (side) {
             case 1 -> bb.maxZ() + 0.5;
             case 3 -> bb.minZ() - 0.5;
             default -> 0;
         };
-        Pos pos = entity.getPosition().add(x, 0.7d, z);
-        creature.setInstance(entity.getInstance(), pos.add(0, new Random().nextDouble(0.5) - 0.25, 0));
-        creature.scheduler().buildTask(creature::remove).delay(Duration.ofSeconds(1)).schedule();
+        Pos pos = entity.getPosition().add(x, 0.7d + random.nextDouble(0.5) - 0.25, z);
+        DamageIndicators.spawn(entity, pos, tag, 20);
     }
 
     public static void init() {
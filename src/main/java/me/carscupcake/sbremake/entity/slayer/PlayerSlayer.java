@@ -28,7 +28,7 @@ public class PlayerSlayer {
     public PlayerSlayer(SkyblockPlayer player, ISlayer slayer) {
         this.player = player;
         this.slayer = slayer;
-        ConfigSection file = new ConfigFile("slayer", player).get(slayer.getId(), ConfigSection.SECTION, new ConfigSection(new JsonObject()));
+        ConfigSection file = player.getProfile().readSection("slayer").get(slayer.getId(), ConfigSection.SECTION, new ConfigSection(new JsonObject()));
         this.xp = file.get("xp", ConfigSection.INTEGER, 0);
         for (int i = 0; i < slayer.getMaxLevel(); i++) {
             if (slayer.requiredXp(i) <= xp) level++;
@@ -65,11 +65,11 @@ public class PlayerSlayer {
         }
     }
 
-    public void save(ConfigFile f) {
+    public void save(ConfigFile f, ConfigFile rngMeters) {
         ConfigSection section = new ConfigSection(new JsonObject());
         section.set("xp", xp, ConfigSection.INTEGER);
         f.set(slayer.getId(), section, ConfigSection.SECTION);
-        meter.save();
+        meter.save(rngMeters);
     }
 
     public void openRngMeterMenu() {
@@ -1,27 +1,13 @@
 package me.carscupcake.sbremake.event;
 
+import me.carscupcake.sbremake.entity.DamageIndicators;
 import me.carscupcake.sbremake.util.StringUtils;
-import net.kyori.adventure.text.Component;
 import net.minestom.server.entity.Entity;
-import net.minestom.server.entity.EntityType;
-import net.minestom.server.entity.LivingEntity;
-import net.minestom.server.entity.metadata.other.ArmorStandMeta;
-
-import java.time.Duration;
 
 public interface IDamageEvent {
     default void spawnDamageTag() {
-        LivingEntity e = new LivingEntity(EntityType.ARMOR_STAND);
-        e.setCustomName(Component.text("§7" + (StringUtils.cleanDouble(getCachedDamage(), 0))));
-        e.setCustomNameVisible(true);
-        e.setInvisible(true);
-        e.setNoGravity(true);
-        e.setInvulnerable(true);
-        ArmorStandMeta meta = (ArmorStandMeta) e.getEntityMeta();
-        meta.setHasNoBasePlate(true);
-        meta.setMarker(true);
-        e.setInstance(getTarget().getInstance(), getTarget().getPosition().add(0, getTarget().getEyeHeight() / 2, 0));
-        e.scheduleRemove(Duration.ofSeconds(2));
+        DamageIndicators.spawn(getTarget(), getTarget().getPosition().add(0, getTarget().getEyeHeight() / 2, 0),
+                "§7" + (StringUtils.cleanDouble(getCachedDamage(), 0)), 40);
     }
 
     double getCachedDamage();
@@ -17,6 +17,7 @@ import me.carscupcake.sbremake.item.modifiers.enchantment.UltimateEnchantments;
 import me.carscupcake.sbremake.item.modifiers.gemstone.GemstoneItem;
 import me.carscupcake.sbremake.item.requirements.CollectionRequirement;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
+import me.carscupcake.sbremake.util.ClassIndex;
 import me.carscupcake.sbremake.util.StringUtils;
 import me.carscupcake.sbremake.worlds.impl.PrivateIsle;
 import net.kyori.adventure.nbt.CompoundBinaryTag;
@@ -34,10 +35,8 @@ import net.minestom.server.item.component.CustomData;
 import net.minestom.server.item.component.HeadProfile;
 import net.minestom.server.item.component.TooltipDisplay;
 import org.jetbrains.annotations.Nullable;
-import org.reflections.Reflections;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Modifier;
 import java.util.*;
 
 public interface ISbItem {
@@ -151,13 +150,8 @@ public interface ISbItem {
         }
         HashMap<ISbItem, EnchantedRecipe> recipes = new HashMap<>();
         GemstoneItem.init();
-        var reflections = new Reflections("me.carscupcake.sbremake.item.impl");
-        for (var clazz : reflections.getSubTypesOf(ISbItem.class)) {
+        for (var clazz : ClassIndex.getImplementations(ISbItem.class, "me.carscupcake.sbremake.item.impl")) {
             try {
-                if (clazz.isInterface()) continue;
-                if (clazz.isRecord()) continue;
-                if (clazz.isEnum()) continue;
-                if (Modifier.isAbstract(clazz.getModifiers())) continue;
                 Constructor<? extends ISbItem> constructor = clazz.getConstructor();
                 ISbItem instance = constructor.newInstance();
                 SbItemStack.initSbItem(instance);
@@ -169,13 +163,8 @@ public interface ISbItem {
                 e.printStackTrace(System.err);
             }
         }
-        reflections = new Reflections("me.carscupcake.sbremake.item.impl.minion");
-        for (var clazz : reflections.getSubTypesOf(IMinionData.class)) {
+        for (var clazz : ClassIndex.getImplementations(IMinionData.class, "me.carscupcake.sbremake.item.impl.minion")) {
             try {
-                if (clazz.isInterface()) continue;
-                if (clazz.isRecord()) continue;
-                if (clazz.isEnum()) continue;
-                if (Modifier.isAbstract(clazz.getModifiers())) continue;
                 var constructor = clazz.getConstructor();
                 var instance = constructor.newInstance();
                 registerMinion(instance);
@@ -7,6 +7,7 @@ import com.google.gson.JsonParser;
 import lombok.RequiredArgsConstructor;
 import me.carscupcake.sbremake.Main;
 import me.carscupcake.sbremake.item.crafting.CraftingIngredient;
+import me.carscupcake.sbremake.item.crafting.RecipeIndex;
 import me.carscupcake.sbremake.item.crafting.ShapedRecipe;
 import me.carscupcake.sbremake.item.crafting.ShapelessRecipe;
 import me.carscupcake.sbremake.item.impl.other.mining.resources.EnchantedDiamondBlock;
@@ -203,17 +204,11 @@ public interface Recipe {
         });
         gui.setItemChangeEvent(event -> {
             if (craftingGrid.contains(event.getSlot())) {
-                Recipe recipe = null;
                 List<SbItemStack> itemStacks = new ArrayList<>();
                 for (int i : craftingGrid)
                     itemStacks.add(SbItemStack.from(Objects.requireNonNull(event.getInventory()).getItemStack(i)));
-                for (Recipe r : craftingRecipes.values())
-                    if (r.creatable(itemStacks)) {
-                        if (r.canCraft(player)) {
-                            recipe = r;
-                        }
-                        break;
-                    }
+                Recipe recipe = RecipeIndex.find(itemStacks);
+                if (recipe != null && !recipe.canCraft(player)) recipe = null;
                 if (recipe == null) {
                     cacheItem.set(null);
                     gui.getInventory().setItemStack(23, noRecipeFound);
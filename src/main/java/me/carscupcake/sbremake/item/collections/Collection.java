@@ -1,13 +1,13 @@
 package me.carscupcake.sbremake.item.collections;
 
 import lombok.Getter;
-import me.carscupcake.sbremake.config.ConfigFile;
 import me.carscupcake.sbremake.config.ConfigSection;
 import me.carscupcake.sbremake.item.ISbItem;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.player.xp.SkyblockXpTask;
 import me.carscupcake.sbremake.rewards.Reward;
 import me.carscupcake.sbremake.rewards.impl.SkyblockXpReward;
+import me.carscupcake.sbremake.util.ClassIndex;
 import me.carscupcake.sbremake.util.StringUtils;
 import me.carscupcake.sbremake.util.TemplateItems;
 import me.carscupcake.sbremake.util.item.Gui;
@@ -19,16 +19,70 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.minestom.server.inventory.click.Click;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
+import org.jetbrains.annotations.Nullable;
 import org.junit.Assert;
 
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Getter
 public abstract class Collection implements SkyblockXpTask {
+    /**
+     * The constructors of every collection, looked up once on startup instead of for every joining player
+     */
+    @Getter
+    private static List<Constructor<? extends Collection>> implementations = List.of();
+
+    public static void init() {
+        List<Constructor<? extends Collection>> constructors = new ArrayList<>();
+        for (Class<? extends Collection> clazz : ClassIndex.getImplementations(Collection.class, "me.carscupcake.sbremake.item.collections.impl")) {
+            try {
+                constructors.add(clazz.getConstructor(SkyblockPlayer.class));
+            } catch (NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        implementations = List.copyOf(constructors);
+    }
+
+    private static final CollectionDrop NO_COLLECTION = new CollectionDrop(null, 0);
+    /**
+     * The collection of every item that was picked up so far by its id. {@link #progress(ISbItem)} does not depend
+     * on the player, so every item only gets tested against all collections once
+     */
+    private static final Map<String, CollectionDrop> drops = new ConcurrentHashMap<>();
+
+    /**
+     * @param item        the picked up item
+     * @param collections the collections of a player, used to find the collection of an item that was not seen yet.
+     *                    An item that is in none of them is only remembered if they are all of the {@link #getImplementations()}
+     * @return the id of the collection of the item and the progress of one item, or null if it is in no collection
+     */
+    public static @Nullable CollectionDrop getDrop(ISbItem item, java.util.Collection<Collection> collections) {
+        CollectionDrop drop = drops.get(item.getId());
+        if (drop == null) {
+            drop = NO_COLLECTION;
+            for (Collection collection : collections) {
+                int amount = collection.progress(item);
+                if (amount > 0) {
+                    drop = new CollectionDrop(collection.getId(), amount);
+                    break;
+                }
+            }
+            if (drop != NO_COLLECTION || collections.size() >= implementations.size())
+                drops.put(item.getId(), drop);
+        }
+        return drop == NO_COLLECTION ? null : drop;
+    }
+
+    public record CollectionDrop(String collectionId, int amount) {
+    }
+
     private final SkyblockPlayer player;
     private long progress;
     private final int[] levelProgress;
@@ -42,15 +96,14 @@ public abstract class Collection implements SkyblockXpTask {
         this.rewards = rewards;
         this.maxLevel = levels.length;
         Assert.assertEquals(levels.length, rewards.size());
-        ConfigFile configFile = new ConfigFile("collections", player);
-        progress = configFile.get(getId(), ConfigSection.LONG, 0L);
+        progress = player.getProfile().readSection("collections").get(getId(), ConfigSection.LONG, 0L);
         level = 0;
         while (level < getMaxLevel() && levelProgress[level] <= progress) {
             level++;
         }
     }
 
-    public void addProgress(int i) {
+    public void addProgress(long i) {
         if (i <= 0) return;
         progress += i;
         while (level < getMaxLevel() && levelProgress[level] <= progress) {
@@ -114,10 +167,11 @@ public abstract class Collection implements SkyblockXpTask {
         player.sendMessage("§e▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬▬");
     }
 
-    public void save() {
-        ConfigFile configFile = new ConfigFile("collections", player);
-        configFile.set(getId(), progress, ConfigSection.LONG);
-        configFile.save();
+    /**
+     * @param collections the collections section of the profile, shared by every collection of the player
+     */
+    public void save(ConfigSection collections) {
+        collections.set(getId(), progress, ConfigSection.LONG);
     }
 
     public List<String> rewardsLore(int level) {
@@ -0,0 +1,167 @@
+package me.carscupcake.sbremake.item.crafting;
+
+import me.carscupcake.sbremake.item.ISbItem;
+import me.carscupcake.sbremake.item.Recipe;
+import me.carscupcake.sbremake.item.SbItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Finds the recipe of a crafting grid without testing every recipe.
+ * Shaped recipes are indexed by the trimmed shape of their ingredients and the items of their first ingredient,
+ * shapeless recipes by every item of their ingredients. A lookup only tests the few candidates of the grid with
+ * {@link Recipe#creatable(List)}, in the order of {@link Recipe#craftingRecipes}, so the same recipe as before wins.
+ * <p>
+ * The index is built on first use and rebuilt if recipes got added since.
+ */
+public class RecipeIndex {
+    private static final Candidate[] NONE = new Candidate[0];
+    private static volatile RecipeIndex index;
+
+    private final int recipeCount;
+    private final Map<ShapeKey, Candidate[]> shaped;
+    private final Map<ISbItem, Candidate[]> shapeless;
+    /**
+     * Recipes that cannot be indexed, they are tested for every grid
+     */
+    private final Candidate[] unindexed;
+
+    private RecipeIndex(Collection<Recipe> recipes) {
+        Map<ShapeKey, List<Candidate>> shaped = new HashMap<>();
+        Map<ISbItem, List<Candidate>> shapeless = new HashMap<>();
+        List<Candidate> unindexed = new ArrayList<>();
+        int ordinal = 0;
+        for (Recipe recipe : recipes) {
+            Candidate candidate = new Candidate(ordinal++, recipe);
+            switch (recipe) {
+                case ShapedRecipe shapedRecipe when isIndexable(shapedRecipe) -> {
+                    int mask = shapeMask(shapedRecipe);
+                    CraftingIngredient first = firstIngredient(shapedRecipe);
+                    for (ISbItem item : new LinkedHashSet<>(Arrays.asList(first.items())))
+                        shaped.computeIfAbsent(new ShapeKey(mask, item), ignored -> new ArrayList<>()).add(candidate);
+                }
+                case ShapelessRecipe shapelessRecipe when shapelessRecipe.ingredients().length > 0 -> {
+                    Set<ISbItem> items = new LinkedHashSet<>();
+                    for (CraftingIngredient ingredient : shapelessRecipe.ingredients())
+                        items.addAll(Arrays.asList(ingredient.items()));
+                    for (ISbItem item : items)
+                        shapeless.computeIfAbsent(item, ignored -> new ArrayList<>()).add(candidate);
+                }
+                default -> unindexed.add(candidate);
+            }
+        }
+        this.recipeCount = recipes.size();
+        this.shaped = toArrays(shaped);
+        this.shapeless = toArrays(shapeless);
+        this.unindexed = unindexed.toArray(Candidate[]::new);
+    }
+
+    private static <K> Map<K, Candidate[]> toArrays(Map<K, List<Candidate>> lists) {
+        Map<K, Candidate[]> arrays = new HashMap<>();
+        for (Map.Entry<K, List<Candidate>> entry : lists.entrySet())
+            arrays.put(entry.getKey(), entry.getValue().toArray(Candidate[]::new));
+        return arrays;
+    }
+
+    /**
+     * Ingredients without items match empty slots, so the shape of those recipes is not fixed
+     */
+    private static boolean isIndexable(ShapedRecipe recipe) {
+        boolean any = false;
+        for (CraftingIngredient ingredient : recipe.ingredients()) {
+            if (ingredient == null) continue;
+            if (ingredient.items().length == 0) return false;
+            any = true;
+        }
+        return any;
+    }
+
+    private static CraftingIngredient firstIngredient(ShapedRecipe recipe) {
+        for (CraftingIngredient ingredient : recipe.ingredients())
+            if (ingredient != null) return ingredient;
+        throw new IllegalStateException("Recipe without ingredients");
+    }
+
+    /**
+     * @return the cells of the ingredients in the 3x3 grid, moved to the top left corner
+     */
+    private static int shapeMask(ShapedRecipe recipe) {
+        int mask = 0;
+        int i = 0;
+        for (int slot : recipe.grid().topLeftSlots())
+            if (recipe.ingredients().get(i++) != null) mask |= 1 << slot;
+        return trim(mask);
+    }
+
+    private static int gridMask(List<SbItemStack> items) {
+        int mask = 0;
+        for (int i = 0; i < 9; i++) {
+            SbItemStack item = items.get(i);
+            if (item != null && item != SbItemStack.AIR) mask |= 1 << i;
+        }
+        return trim(mask);
+    }
+
+    private static int trim(int mask) {
+        if (mask == 0) return 0;
+        // Empty top rows, then empty left columns
+        while ((mask & 0b111) == 0) mask >>= 3;
+        while ((mask & 0b001001001) == 0) mask >>= 1;
+        return mask;
+    }
+
+    private static RecipeIndex get() {
+        RecipeIndex current = index;
+        if (current == null || current.recipeCount != Recipe.craftingRecipes.size()) {
+            synchronized (RecipeIndex.class) {
+                current = index;
+                if (current == null || current.recipeCount != Recipe.craftingRecipes.size())
+                    index = current = new RecipeIndex(List.copyOf(Recipe.craftingRecipes.values()));
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @param items the 9 items of the crafting grid, row by row
+     * @return the first recipe in {@link Recipe#craftingRecipes} that can be created from the grid, or null
+     */
+    public static @Nullable Recipe find(List<SbItemStack> items) {
+        return get().findCandidate(items);
+    }
+
+    private @Nullable Recipe findCandidate(List<SbItemStack> items) {
+        int mask = gridMask(items);
+        Candidate best = null;
+        if (mask != 0) {
+            ISbItem first = null;
+            for (SbItemStack item : items)
+                if (item != null && item != SbItemStack.AIR) {
+                    first = item.sbItem();
+                    break;
+                }
+            best = firstCreatable(shaped.getOrDefault(new ShapeKey(mask, first), NONE), items, null);
+            best = firstCreatable(shapeless.getOrDefault(first, NONE), items, best);
+        }
+        best = firstCreatable(unindexed, items, best);
+        return best == null ? null : best.recipe();
+    }
+
+    /**
+     * @return the first creatable candidate that comes before the current best one, or the current best one
+     */
+    private static Candidate firstCreatable(Candidate[] candidates, List<SbItemStack> items, @Nullable Candidate best) {
+        for (Candidate candidate : candidates) {
+            if (best != null && candidate.ordinal() > best.ordinal()) break;
+            if (candidate.recipe().creatable(items)) return candidate;
+        }
+        return best;
+    }
+
+    private record ShapeKey(int mask, ISbItem first) {
+    }
+
+    private record Candidate(int ordinal, Recipe recipe) {
+    }
+}
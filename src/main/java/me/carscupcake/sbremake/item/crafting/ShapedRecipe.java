@@ -99,39 +99,42 @@ public record ShapedRecipe(List<CraftingIngredient> ingredients, ISbItem result,
 
     @Override
     public boolean creatable(List<SbItemStack> items) {
-        for (List<SbItemStack> current : toSegments(items)) {
-            boolean b = true;
-            int i = 0;
-            for (SbItemStack itemStack : current) {
-                if (itemStack == null) itemStack = SbItemStack.AIR;
-                CraftingIngredient ingredient = this.ingredients.get(i);
-                if ((ingredient == null && itemStack == SbItemStack.AIR)) {
-                    i++;
-                    continue;
-                }
-                if (ingredient == null) {
-                    b = false;
-                    break;
-                }
-                if (ingredient.items().length == 0 && itemStack == SbItemStack.AIR) {
-                    i++;
-                    continue;
-                }
-                if (itemStack == SbItemStack.AIR) {
-                    b = false;
-                    break;
-                }
-                if (!ingredient.check(itemStack)) {
-                    b = false;
-                    break;
-                }
-                i++;
-            }
-            if (b) return true;
+        int occupied = occupied(items);
+        int c = 0;
+        for (List<Integer> combi : grid.gridCombinations) {
+            // Every slot outside of the combination has to be empty
+            if ((occupied & ~grid.masks[c++]) != 0) continue;
+            if (matches(items, combi)) return true;
         }
         return false;
     }
 
+    private boolean matches(List<SbItemStack> items, List<Integer> combi) {
+        int i = 0;
+        for (int slot : combi) {
+            SbItemStack itemStack = items.get(slot);
+            if (itemStack == null) itemStack = SbItemStack.AIR;
+            CraftingIngredient ingredient = this.ingredients.get(i++);
+            if (ingredient == null) {
+                if (itemStack != SbItemStack.AIR) return false;
+                continue;
+            }
+            if (itemStack == SbItemStack.AIR) {
+                if (ingredient.items().length == 0) continue;
+                return false;
+            }
+            if (!ingredient.check(itemStack)) return false;
+        }
+        return true;
+    }
+
+    private static int occupied(List<SbItemStack> items) {
+        int occupied = 0;
+        for (int i = 0; i < 9; i++)
+            if (items.get(i) != SbItemStack.AIR) occupied |= 1 << i;
+        return occupied;
+    }
+
     @Override
     public Inventory recipePreview() {
         //TODO
@@ -140,19 +143,12 @@ public record ShapedRecipe(List<CraftingIngredient> ingredients, ISbItem result,
 
     @Override
     public void consume(List<SbItemStack> items) {
+        int occupied = occupied(items);
         List<Integer> segments = null;
+        int c = 0;
         for (List<Integer> combi : grid.gridCombinations) {
-            List<Integer> b = new ArrayList<>();
-            boolean bol = true;
-            for (int i = 0; i < 9; i++) {
-                if (combi.contains(i)) b.add(i);
-                else if (items.get(i) != SbItemStack.AIR) {
-                    bol = false;
-                    break;
-                }
-            }
-            if (bol) {
-                segments = b;
+            if ((occupied & ~grid.masks[c++]) == 0) {
+                segments = combi;
                 break;
             }
         }
@@ -166,26 +162,6 @@ public record ShapedRecipe(List<CraftingIngredient> ingredients, ISbItem result,
         }
     }
 
-    private List<List<SbItemStack>> toSegments(List<SbItemStack> items) {
-        LinkedList<LinkedList<Integer>> slotCombination = grid.gridCombinations;
-        List<List<SbItemStack>> lists = new LinkedList<>();
-        for (List<Integer> combi : slotCombination) {
-            List<SbItemStack> b = new LinkedList<>();
-            boolean bol = true;
-            for (int i = 0; i < 9; i++) {
-                if (combi.contains(i)) b.add(items.get(i));
-                else if (items.get(i) != SbItemStack.AIR) {
-                    bol = false;
-                    break;
-                }
-            }
-            if (bol) lists.add(b);
-        }
-        return lists;
-
-
-    }
-
     public enum Grid {
         Grid2x2(linkedListOf(0, 1, 3, 4), linkedListOf(1, 2, 4, 5), linkedListOf(3, 4, 6, 7), linkedListOf(4, 5, 7, 8)), Grid2x3(() -> {
             LinkedList<LinkedList<Integer>> list = new LinkedList<>();
@@ -216,14 +192,37 @@ public record ShapedRecipe(List<CraftingIngredient> ingredients, ISbItem result,
             return list;
         }), Grid3x3(linkedListOf(0, 1, 2, 3, 4, 5, 6, 7, 8));
         private final LinkedList<LinkedList<Integer>> gridCombinations;
+        /**
+         * The slots of every combination as bits
+         */
+        private final int[] masks;
 
         @SafeVarargs
         Grid(LinkedList<Integer>... grids) {
             gridCombinations = new LinkedList<>(List.of(grids));
+            masks = toMasks(gridCombinations);
         }
 
         Grid(Returnable<LinkedList<LinkedList<Integer>>> returnable) {
             gridCombinations = returnable.get();
+            masks = toMasks(gridCombinations);
+        }
+
+        private static int[] toMasks(List<LinkedList<Integer>> combinations) {
+            int[] masks = new int[combinations.size()];
+            int c = 0;
+            for (List<Integer> combi : combinations) {
+                for (int slot : combi) masks[c] |= 1 << slot;
+                c++;
+            }
+            return masks;
+        }
+
+        /**
+         * @return the slots of the recipe when it is placed in the top left corner, row by row
+         */
+        List<Integer> topLeftSlots() {
+            return gridCombinations.getFirst();
         }
 
         @SafeVarargs
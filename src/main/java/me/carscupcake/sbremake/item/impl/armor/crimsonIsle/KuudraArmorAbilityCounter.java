@@ -29,14 +29,20 @@ public class KuudraArmorAbilityCounter extends TaskScheduler {
         if (cooldown != 0) cooldown--;
         if (i == 0) {
             i = resetTime;
-            if (stacks > 0) stacks--;
+            if (stacks > 0) {
+                stacks--;
+                player.invalidateStats();
+            }
         } else i--;
     }
 
     public void add() {
         if (System.currentTimeMillis() - lastGain > cooldownTicks * 50L) {
             lastGain = System.currentTimeMillis();
-            if (stacks != 10) stacks++;
+            if (stacks != 10) {
+                stacks++;
+                player.invalidateStats();
+            }
             i = resetTime;
         }
     }
@@ -1,6 +1,7 @@
 package me.carscupcake.sbremake.item.impl.armor.crimsonIsle.crimson.base;
 
 import me.carscupcake.sbremake.Stat;
+import me.carscupcake.sbremake.entity.EntityQueries;
 import me.carscupcake.sbremake.entity.SkyblockEntity;
 import me.carscupcake.sbremake.event.PlayerDamageEntityEvent;
 import me.carscupcake.sbremake.event.PlayerMeleeDamageEntityEvent;
@@ -11,21 +12,20 @@ import me.carscupcake.sbremake.item.impl.armor.crimsonIsle.KuudraArmorTier;
 import me.carscupcake.sbremake.item.impl.armor.crimsonIsle.crimson.CrimsonBootsBaseline;
 import me.carscupcake.sbremake.item.impl.armor.crimsonIsle.crimson.DominusAbility;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
-import me.carscupcake.sbremake.util.EntityUtils;
 import me.carscupcake.sbremake.util.ParticleUtils;
 import me.carscupcake.sbremake.util.SoundType;
 import net.kyori.adventure.sound.Sound;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Vec;
-import net.minestom.server.entity.Entity;
 import net.minestom.server.event.Event;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.particle.Particle;
 import net.minestom.server.utils.time.TimeUnit;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 
 public class CrimsonBoots extends CrimsonBootsBaseline implements Listener {
     @Override
@@ -62,7 +62,8 @@ public class CrimsonBoots extends CrimsonBootsBaseline implements Listener {
                             Vec v = new Vec(3, 0, 0).rotateAroundY(Math.toRadians(new Random().nextInt(360)));
                             Vec supportVec = event.getTarget().getPosition().asVec().add(v);
                             Vec dir = v.mul(-1).mul(2).withY(2);
-                            Set<Entity> es = EntityUtils.getEntitiesInLine(supportVec.asPosition(), supportVec.add(dir).asPosition(), player.getInstance(), 2);
+                            List<SkyblockEntity> es = new ArrayList<>();
+                            EntityQueries.get(player.getInstance()).forEachOnLine(supportVec, supportVec.add(dir), 2, es::add);
                             double swipeStrength = switch (ability.getTier()) {
                                 case Base -> switch (pieces) {
                                     case 3 -> 1;
@@ -90,8 +91,7 @@ public class CrimsonBoots extends CrimsonBootsBaseline implements Listener {
                                     default -> 1;
                                 };
                             };
-                            MinecraftServer.getSchedulerManager().buildTask(() -> es.forEach(e -> {
-                                if (!(e instanceof SkyblockEntity entity)) return;
+                            MinecraftServer.getSchedulerManager().buildTask(() -> es.forEach(entity -> {
                                 double damage = event.isCrit() ? event.calculateCritHit() : event.calculateHit();
                                 double swipeDamage = damage * (swipeStrength / event.getAdditiveMultiplier());
                                 PlayerDamageEntityEvent entityEvent = new PlayerDamageEntityEvent(player, event.getTarget(), swipeDamage);
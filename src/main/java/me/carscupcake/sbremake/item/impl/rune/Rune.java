@@ -4,10 +4,10 @@ import me.carscupcake.sbremake.item.ISbItem;
 import me.carscupcake.sbremake.item.ItemRarity;
 import me.carscupcake.sbremake.item.ItemType;
 import me.carscupcake.sbremake.item.Listener;
+import me.carscupcake.sbremake.util.ClassIndex;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.item.Material;
-import org.reflections.Reflections;
 
 import java.lang.reflect.Constructor;
 import java.util.HashMap;
@@ -17,12 +17,8 @@ public class Rune implements ISbItem {
     public static final Map<String, IRune<? extends Entity>> runes = new HashMap<>();
 
     static {
-        Reflections reflections = new Reflections("me.carscupcake.sbremake.item.impl.rune.impl");
-        for (Class<? extends IRune> clazz : reflections.getSubTypesOf(IRune.class)) {
+        for (Class<? extends IRune> clazz : ClassIndex.getImplementations(IRune.class, "me.carscupcake.sbremake.item.impl.rune.impl")) {
             try {
-                if (clazz.isInterface()) continue;
-                if (clazz.isRecord()) continue;
-                if (clazz.isEnum()) continue;
                 Constructor<? extends IRune> constructor = clazz.getConstructor();
                 IRune instance = constructor.newInstance();
                 runes.put(instance.getId(), instance);
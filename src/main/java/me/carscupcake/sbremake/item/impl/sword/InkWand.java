@@ -1,6 +1,7 @@
 package me.carscupcake.sbremake.item.impl.sword;
 
 import me.carscupcake.sbremake.Stat;
+import me.carscupcake.sbremake.entity.EntityQueries;
 import me.carscupcake.sbremake.entity.SkyblockEntity;
 import me.carscupcake.sbremake.item.ISbItem;
 import me.carscupcake.sbremake.item.ItemRarity;
@@ -8,16 +9,15 @@ import me.carscupcake.sbremake.item.ItemType;
 import me.carscupcake.sbremake.item.Lore;
 import me.carscupcake.sbremake.item.ability.*;
 import me.carscupcake.sbremake.util.EntitySinusMovement;
-import me.carscupcake.sbremake.util.EntityUtils;
 import me.carscupcake.sbremake.util.ParticleUtils;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
-import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.ItemEntity;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.particle.Particle;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -37,15 +37,13 @@ public class InkWand implements ISbItem {
             public void run() {
                 i++;
                 Pos old = item.getPosition().sub(dir).sub(0, movement.calculateOffset(i, 40) - movement.calculateOffset(i - 1, 40), 0);
-                List<Entity> list = EntityUtils.getEntitiesInLine(old, item.getPosition(), item.getInstance())
-                        .stream().filter(entity -> entity instanceof SkyblockEntity).toList();
+                List<SkyblockEntity> list = new ArrayList<>();
+                EntityQueries.get(item.getInstance()).forEachOnLine(old, item.getPosition(), 1, list::add);
                 ParticleUtils.spawnParticle(item.getInstance(), item.getPosition(), Particle.SQUID_INK, 1);
                 if (list.isEmpty()) return;
                 item.remove();
-                for (Entity e : list) {
-                    SkyblockEntity entity = (SkyblockEntity) e;
+                for (SkyblockEntity entity : list)
                     entity.mageDamage(event.player(), 10_000d, 1d);
-                }
             }
         });
     }, new Lore("§7Shoot an ink bomb in front of you dealing§a %dmg% §7damage and giving blindness!", Map.of("%dmg%", new Lore.AbilityDamagePlaceholder(10_000, 1d))), new ManaRequirement<>(60), new CooldownRequirement<>(30)));
@@ -2,6 +2,7 @@ package me.carscupcake.sbremake.item.impl.sword.crimsonIsle;
 
 import lombok.Getter;
 import me.carscupcake.sbremake.Stat;
+import me.carscupcake.sbremake.entity.EntityQueries;
 import me.carscupcake.sbremake.entity.SkyblockEntity;
 import me.carscupcake.sbremake.item.*;
 import me.carscupcake.sbremake.item.Requirement;
@@ -13,7 +14,6 @@ import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.player.skill.Skill;
 import me.carscupcake.sbremake.util.CoinsCost;
 import me.carscupcake.sbremake.util.Cost;
-import me.carscupcake.sbremake.util.EntityUtils;
 import me.carscupcake.sbremake.util.ParticleUtils;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
@@ -37,8 +37,7 @@ public class AuroraStaff implements ISbItem, ISbItem.StatProvider, NpcSellable,
     }), new ItemAbility<>("Runic Zap", AbilityType.RIGHT_CLICK, event -> {
         var type = SELECTED_TYPES.getOrDefault(event.player(), RuneType.Mediator);
         final var eyePos = event.player().getPosition().add(0, event.player().getEyeHeight(), 0);
-        var hit = EntityUtils.getEntitiesInLine(eyePos, eyePos.add(event.player().getPosition().direction().normalize().mul(RANGE)), event.player().getInstance());
-        SkyblockEntity hitEntity = (SkyblockEntity) hit.stream().filter(entity -> entity instanceof SkyblockEntity).min((o1, o2) -> (int) (o1.getPosition().distance(eyePos) - o2.getPosition().distance(eyePos))).orElse(null);
+        SkyblockEntity hitEntity = EntityQueries.get(event.player().getInstance()).firstOnLine(eyePos, eyePos.add(event.player().getPosition().direction().normalize().mul(RANGE)));
         var steps = RANGE * 2;
         if (hitEntity != null) {
             steps = (int) (hitEntity.getDistance(eyePos) * 2);
@@ -1,6 +1,7 @@
 package me.carscupcake.sbremake.item.impl.sword.dungeons;
 
 import me.carscupcake.sbremake.Stat;
+import me.carscupcake.sbremake.entity.EntityQueries;
 import me.carscupcake.sbremake.entity.SkyblockEntity;
 import me.carscupcake.sbremake.event.EntityMeleeDamagePlayerEvent;
 import me.carscupcake.sbremake.event.GetItemStatEvent;
@@ -31,7 +32,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class NecronBlade implements ISbItem, ISbItem.StatProvider, Dungeonizable, IContextAbilities, Listener {
 
@@ -39,13 +39,13 @@ public class NecronBlade implements ISbItem, ISbItem.StatProvider, Dungeonizable
         ParticleUtils.spawnParticle(event.player().getInstance(), event.player().getPosition().add(0, event.player().getEyeHeight() / 2, 0), Particle.EXPLOSION, 6, Vec.ZERO, 10);
         event.player().getInstance().playSound(SoundType.ENTITY_GENERIC_EXPLODE.create(1f, 1.2f), event.player().getPosition());
         var intelligence = event.player().getStat(Stat.Intelligence);
-        AtomicInteger totalEntities = new AtomicInteger(0);
-        var total = event.player().getInstance().getNearbyEntities(event.player().getPosition(), 6).stream().filter(entity -> entity instanceof SkyblockEntity).map(entity -> {
-            totalEntities.set(totalEntities.get() + 1);
-            return (SkyblockEntity) entity;
-        }).map(entity -> entity.mageDamage(event.player(), intelligence, 10_000, 0.3)).reduce(0d, Double::sum);
-        if (totalEntities.get() != 0)
-            event.player().sendMessage("§7Your Implosion hit §c" + totalEntities.get() + "§7 enemy" + (totalEntities.get() > 1 ? "s" : "") + " for §c" + StringUtils.toFormatedNumber(total) + "§7 damage.");
+        List<SkyblockEntity> hit = new ArrayList<>();
+        EntityQueries.get(event.player().getInstance()).forEachInRange(event.player().getPosition(), 6, hit::add);
+        double total = 0;
+        for (SkyblockEntity entity : hit)
+            total += entity.mageDamage(event.player(), intelligence, 10_000, 0.3);
+        if (!hit.isEmpty())
+            event.player().sendMessage("§7Your Implosion hit §c" + hit.size() + "§7 enemy" + (hit.size() > 1 ? "s" : "") + " for §c" + StringUtils.toFormatedNumber(total) + "§7 damage.");
     }, new Lore("§7Deals §c%d% §7to nearby enemies.", "%d%", new Lore.AbilityDamagePlaceholder(10_000, 0.3)), new ManaRequirement<>(300), new CooldownRequirement<>(10));
     public static final ItemAbility<PlayerInteractEvent> SHADOW_WARP = new ItemAbility<>("Shadow Warp", AbilityType.RIGHT_CLICK, ignored -> {
 
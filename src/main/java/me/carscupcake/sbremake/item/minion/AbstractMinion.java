@@ -9,7 +9,6 @@ import me.carscupcake.sbremake.item.SbItemStack;
 import me.carscupcake.sbremake.item.impl.other.ICoinItem;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.util.StringUtils;
-import me.carscupcake.sbremake.util.TaskScheduler;
 import me.carscupcake.sbremake.util.TemplateItems;
 import me.carscupcake.sbremake.util.item.Gui;
 import me.carscupcake.sbremake.util.item.InventoryBuilder;
@@ -48,7 +47,8 @@ public abstract class AbstractMinion implements Minion {
     protected final ArrayList<SbItemStack> inventory = new ArrayList<>();
     protected int inventorySpace;
     protected int timeBetweenActions;
-    protected TaskScheduler breakingRunnable;
+    protected MinionTask breakingRunnable;
+    protected final MinionScheduler scheduler;
     protected boolean isFull;
     protected boolean noSpace;
     protected LivingEntity message;
@@ -69,6 +69,7 @@ public abstract class AbstractMinion implements Minion {
     public AbstractMinion(int level, IMinionData base, Instance instance, Pos location, String minionIdentifier, SkyblockPlayer placer) {
         Assert.assertTrue(level <= base.getLevels());
         this.instance = instance;
+        this.scheduler = MinionScheduler.get(instance);
         inventorySpace = getMinionInventorySpace(level);
         this.level = level;
         this.base = base;
@@ -80,6 +81,7 @@ public abstract class AbstractMinion implements Minion {
         loadInventory();
         checkHasSpace();
         startWorking();
+        scheduler.add(this);
     }
 
     @Override
@@ -115,8 +117,7 @@ public abstract class AbstractMinion implements Minion {
 
     public void loadInventory() {
         inventory.clear();
-        ConfigFile config = new ConfigFile("minions", player);
-        ConfigSection minionSection = config.get(minionId, ConfigSection.SECTION, new ConfigSection(new JsonObject()));
+        ConfigSection minionSection = player.getProfile().readSection("minions").get(minionId, ConfigSection.SECTION, new ConfigSection(new JsonObject()));
         if (!minionSection.has("items")) return;
         SbItemStack[] values = minionSection.get("items", ConfigSection.ITEM_ARRAY, new SbItemStack[0]);
         Arrays.sort(values, Comparator.comparingInt(o -> o.item().amount()));
@@ -130,29 +131,78 @@ public abstract class AbstractMinion implements Minion {
             setFull();
             return;
         }
-        for (int i = 0; i < getSteps(minionSection.get("lastDate", ConfigSection.LONG, new Date().getTime()), timeBetweenActions); i++) {
-            generateLoot();
-            if (isFull) return;
+        addOfflineProduction(getSteps(minionSection.get("lastDate", ConfigSection.LONG, new Date().getTime()), timeBetweenActions));
+    }
+
+    /**
+     * Adds what the minion would have produced while its isle was paused
+     *
+     * @param ticks the paused ticks
+     */
+    public void produceOffline(long ticks) {
+        if (isFull) return;
+        addOfflineProduction((ticks / timeBetweenActions) / 2);
+    }
+
+    private void addOfflineProduction(long steps) {
+        if (steps <= 0) return;
+        Map<SbItemStack, Long> produced = OfflineProduction.simulate(base.drops(), player, steps, new Random());
+        if (produced == null) {
+            for (long i = 0; i < steps; i++) {
+                generateLoot();
+                if (isFull) return;
+            }
+            return;
+        }
+        // Added in rounds with a share of every item each, so a full minion holds the drops in proportion like it
+        // would after adding them action by action. The largest drop is added about a stack per round
+        long rounds = 1;
+        for (Map.Entry<SbItemStack, Long> entry : produced.entrySet())
+            rounds = Math.max(rounds, Math.ceilDiv(entry.getValue(), entry.getKey().sbItem().getMaxStackSize()));
+        Map<SbItemStack, Long> remaining = new LinkedHashMap<>(produced);
+        for (long round = rounds; round > 0 && !remaining.isEmpty(); round--) {
+            var iterator = remaining.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<SbItemStack, Long> entry = iterator.next();
+                long share = Math.ceilDiv(entry.getValue(), round);
+                if (!addItemsToInventory(entry.getKey(), share)) {
+                    setFull();
+                    return;
+                }
+                if (entry.getValue() == share) iterator.remove();
+                else entry.setValue(entry.getValue() - share);
+            }
         }
     }
 
+    /**
+     * Adds the amount of the item in full stacks, stops as soon as the inventory is full
+     *
+     * @return true if everything fit into the inventory
+     */
+    protected boolean addItemsToInventory(SbItemStack item, long amount) {
+        int maxStackSize = item.sbItem().getMaxStackSize();
+        while (amount > 0) {
+            int stack = (int) Math.min(amount, maxStackSize);
+            if (!addItemToInventory(item.withAmount(stack))) return false;
+            amount -= stack;
+        }
+        return true;
+    }
 
 
-    protected void resetPos() {
 
-        new TaskScheduler() {
-            @Override
-            public void run() {
-                if (!isRunning) {
-                    return;
-                }
-                Pos l = stand.getPosition();
-                stand.teleport(l.withYaw(0).withPitch(0));
-                var armorStandMeta = (ArmorStandMeta) stand.getEntityMeta();
-                armorStandMeta.setHeadRotation(Vec.ZERO);
-                armorStandMeta.setRightArmRotation(Vec.ZERO);
+    protected void resetPos() {
+        scheduler.delay(MinionTask.of(() -> {
+            if (!isRunning) {
+                return;
             }
-        }.delayTask(10);
+            Pos l = stand.getPosition();
+            stand.teleport(l.withYaw(0).withPitch(0));
+            var armorStandMeta = (ArmorStandMeta) stand.getEntityMeta();
+            armorStandMeta.setHeadRotation(Vec.ZERO);
+            armorStandMeta.setRightArmRotation(Vec.ZERO);
+        }), 10);
     }
 
     protected long getSteps(long oldMs, long timeBetweenActions){
@@ -174,16 +224,16 @@ public abstract class AbstractMinion implements Minion {
         }
     }
 
-    public void saveMinion() {
-        ConfigFile config = new ConfigFile("minions", player);
+    @Override
+    public void save(ConfigSection minions) {
         var section = new ConfigSection(new JsonObject());
-        section.set("lastDate", new Date().getTime(), ConfigSection.LONG);
+        // The production of a paused isle was not added yet, it gets added on the next load
+        section.set("lastDate", new Date().getTime() - scheduler.getPausedTicks() * 50, ConfigSection.LONG);
         section.set("id", base.id(), ConfigSection.STRING);
         section.set("level", level, ConfigSection.INTEGER);
         section.set("pos", location, ConfigSection.POSITION);
         section.set("items", inventory.toArray(SbItemStack[]::new), ConfigSection.ITEM_ARRAY);
-        config.set(minionId, section, ConfigSection.SECTION);
-        config.save();
+        minions.set(minionId, section, ConfigSection.SECTION);
     }
 
     public void removeMinionFromFile() {
@@ -274,12 +324,13 @@ public abstract class AbstractMinion implements Minion {
     @Override
     public void remove(MinionRemoveReason removeReason) {
         setRunning(false);
+        if (breakingRunnable != null) breakingRunnable.cancel();
+        scheduler.remove(this);
         if (stand != null && !stand.isDead()) stand.remove();
         if(message != null && !message.isDead()) message.remove();
 
-        if (removeReason == MinionRemoveReason.QUIT) {
-            saveMinion();
-        } else {
+        // Minions removed on quit get saved by their isle, all in one write
+        if (removeReason != MinionRemoveReason.QUIT) {
             if (removeReason == MinionRemoveReason.PICKUP_MINION) {
                 for (var item : inventory)
                     player.addItem(item);
@@ -301,7 +352,7 @@ public abstract class AbstractMinion implements Minion {
     public void checkHasSpace() {
         if (settableSpace() > 0) {
             noSpace = false;
-            if (breakingRunnable == null || breakingRunnable.cancelled.get()) startWorking();
+            if (breakingRunnable == null || breakingRunnable.isCancelled()) startWorking();
         } else {
             setNoSpace();
         }
@@ -318,22 +369,14 @@ public abstract class AbstractMinion implements Minion {
             message = null;
         }
 
-        if (breakingRunnable != null && !breakingRunnable.cancelled.get()) try {
-            breakingRunnable.cancel();
-        } catch (Exception ignored) {
-        }
-        breakingRunnable = new TaskScheduler() {
-
-            @Override
-            public void run() {
-                if (isMaxGenerated()) {
-                    startGetAnimation();
-                } else {
-                   startGenerateAnimation();
-                }
+        if (breakingRunnable != null) breakingRunnable.cancel();
+        breakingRunnable = scheduler.repeat(MinionTask.of(() -> {
+            if (isMaxGenerated()) {
+                startGetAnimation();
+            } else {
+                startGenerateAnimation();
             }
-        };
-        breakingRunnable.repeatTask(timeBetweenActions, timeBetweenActions);
+        }), timeBetweenActions, timeBetweenActions);
     }
 
     @Override
@@ -3,7 +3,6 @@ package me.carscupcake.sbremake.item.minion;
 
 import me.carscupcake.sbremake.entity.SkyblockEntity;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
-import me.carscupcake.sbremake.util.TaskScheduler;
 import net.minestom.server.coordinate.BlockVec;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
@@ -17,11 +16,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 public class CombatMinion extends AbstractMinion {
     private static final int maxEntityAmount = 6;
     private final AbstractCombatMinionData minion;
+    /**
+     * The mobs this minion spawned, so an action does not have to look through every entity around the minion
+     */
+    private final List<Entity> spawned = new ArrayList<>();
 
     /**
      * This constructor provides the basic values
@@ -40,9 +42,7 @@ public class CombatMinion extends AbstractMinion {
 
     @Override
     void startGetAnimation() {
-        List<Entity> missing =
-                instance.getNearbyEntities(location, 5).stream().filter(entity -> entity instanceof MinionEntity minionEntity
-                && minionEntity.minionId().equals(minionId)).collect(Collectors.toList());
+        List<Entity> missing = getSpawnedInRange();
         if (missing.isEmpty())
             return;
 
@@ -60,7 +60,7 @@ public class CombatMinion extends AbstractMinion {
         meta.setHeadRotation(angle);
         entity.kill();
         generateLoot();
-        new TaskScheduler() {
+        scheduler.repeat(new MinionTask() {
             double rotation = -90;
             int i = 0;
 
@@ -85,7 +85,7 @@ public class CombatMinion extends AbstractMinion {
 
                 i++;
             }
-        }.repeatTask(10, 2);
+        }, 10, 2);
     }
 
     @Override
@@ -93,7 +93,7 @@ public class CombatMinion extends AbstractMinion {
         List<BlockVec> missing = getPos();
         var target = lookAtTarget(missing);
 
-        new TaskScheduler() {
+        scheduler.repeat(new MinionTask() {
             double rotation = -90;
             int i = 0;
 
@@ -109,6 +109,9 @@ public class CombatMinion extends AbstractMinion {
                     SkyblockEntity entity = minion.getEntity().makeNew();
                     entity.setInstance(instance, target.add(0, 2, 0)).join();
                     ((MinionEntity) entity).setMinionId(minionId);
+                    synchronized (spawned) {
+                        spawned.add(entity);
+                    }
                     resetPos();
                     return;
                 }
@@ -119,7 +122,7 @@ public class CombatMinion extends AbstractMinion {
                 meta.setRightArmRotation(new Vec(Math.toRadians(rotation), 0, 0));
                 i++;
             }
-        }.repeatTask(10, 2);
+        }, 10, 2);
         isMaxGenerated();
     }
 
@@ -130,13 +133,27 @@ public class CombatMinion extends AbstractMinion {
 
     @Override
     int settableSpace() {
-        int i =
-                instance.getNearbyEntities(location, 5).stream().filter(entity -> entity  instanceof MinionEntity minionEntity
-                        && minionEntity.minionId().equals(minionId)).toList().size();
+        int i = getSpawnedInRange().size();
         if (i > maxEntityAmount) return 0;
         else return maxEntityAmount - i;
     }
 
+    /**
+     * @return the living mobs of this minion that are at most 5 blocks away from it
+     */
+    private List<Entity> getSpawnedInRange() {
+        // The constructor of AbstractMinion already checks the space, before this class is initialized
+        if (spawned == null) return new ArrayList<>();
+        List<Entity> inRange = new ArrayList<>();
+        synchronized (spawned) {
+            spawned.removeIf(entity -> entity.isRemoved() || (entity instanceof LivingEntity living && living.isDead()));
+            for (Entity entity : spawned)
+                if (entity.getInstance() == instance && entity.getPosition().distanceSquared(location) <= 25)
+                    inRange.add(entity);
+        }
+        return inRange;
+    }
+
     private List<BlockVec> getPos() {
         List<BlockVec> blocks = new ArrayList<>();
         for (var block : getBlockGrit()) {
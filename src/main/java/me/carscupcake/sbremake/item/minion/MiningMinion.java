@@ -1,7 +1,6 @@
 package me.carscupcake.sbremake.item.minion;
 
 import me.carscupcake.sbremake.player.SkyblockPlayer;
-import me.carscupcake.sbremake.util.TaskScheduler;
 import net.minestom.server.coordinate.BlockVec;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
@@ -28,7 +27,7 @@ public class MiningMinion extends AbstractMinion {
     public void checkHasSpace() {
         if (settableSpace() > 0) {
             noSpace = false;
-            if (breakingRunnable == null || breakingRunnable.cancelled.get()) startWorking();
+            if (breakingRunnable == null || breakingRunnable.isCancelled()) startWorking();
         } else {
             if (getMinableBlocks().isEmpty())
                 setNoSpace();
@@ -40,7 +39,7 @@ public class MiningMinion extends AbstractMinion {
         List<BlockVec> missing = new ArrayList<>(getMinableBlocks());
         var target = lookAtTarget(missing);
         if (target == null) return;
-        new TaskScheduler() {
+        scheduler.repeat(new MinionTask() {
             double rotation = -90;
             int through;
             int i = 0;
@@ -75,7 +74,7 @@ public class MiningMinion extends AbstractMinion {
                 instance.getPlayers().forEach(player -> player.sendPacket(animation));
                 i++;
             }
-        }.repeatTask(10, 2);
+        }, 10, 2);
     }
 
     @Override
@@ -83,7 +82,7 @@ public class MiningMinion extends AbstractMinion {
         List<BlockVec> missing = new ArrayList<>(getPlacebleBlocks());
         var target = lookAtTarget(missing);
         if (target == null) return;
-        new TaskScheduler() {
+        scheduler.repeat(new MinionTask() {
             double rotation = -90;
             int i = 0;
 
@@ -104,7 +103,7 @@ public class MiningMinion extends AbstractMinion {
                 armorStandMeta.setRightArmRotation(new Vec(Math.toRadians(rotation), 0, 0));
                 i++;
             }
-        }.repeatTask(10, 2);
+        }, 10, 2);
 
     }
 
@@ -1,5 +1,6 @@
 package me.carscupcake.sbremake.item.minion;
 
+import me.carscupcake.sbremake.config.ConfigSection;
 import me.carscupcake.sbremake.event.PlayerInteractEvent;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.worlds.impl.PrivateIsle;
@@ -35,6 +36,14 @@ public interface Minion {
      */
     void remove(MinionRemoveReason removeReason);
 
+    /**
+     * Stores the minion and its inventory. Removing a minion with {@link MinionRemoveReason#QUIT} does not save it,
+     * the isle saves all of its minions into the same section first
+     *
+     * @param minions the minions section of the profile of the owner
+     */
+    void save(ConfigSection minions);
+
     /**
      * is a check if the inventory is full
      *
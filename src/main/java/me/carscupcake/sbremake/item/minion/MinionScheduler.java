@@ -0,0 +1,153 @@
+package me.carscupcake.sbremake.item.minion;
+
+import lombok.Getter;
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.worlds.InstanceRegistry;
+import net.minestom.server.instance.Instance;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the actions and animations of every minion in one instance from a single repeating task, instead of one
+ * scheduler task per minion and animation. Tasks wait in a queue ordered by the tick they are due, every tick runs
+ * the due ones, at most {@link #MAX_TASKS_PER_TICK}. Tasks that did not fit run in the next tick and count as lag.
+ * <p>
+ * While no player is in the instance nothing runs. Once a player is back, every minion gets what it would have
+ * produced in the meantime through {@link AbstractMinion#produceOffline(long)}, like after loading the isle.
+ */
+public class MinionScheduler {
+    public static final int MAX_TASKS_PER_TICK = 256;
+    private static final InstanceRegistry<MinionScheduler> schedulers = new InstanceRegistry<>("minion scheduler", MinionScheduler::new, MinionScheduler::tick);
+
+    private final Instance instance;
+    private final Set<AbstractMinion> minions = ConcurrentHashMap.newKeySet();
+    private final PriorityQueue<MinionTask> queue = new PriorityQueue<>(Comparator.<MinionTask>comparingLong(task -> task.due).thenComparingLong(task -> task.sequence));
+    private long tick = 0;
+    private long sequence = 0;
+    private long pausedSince = -1;
+    /**
+     * The amount of tasks that ran in the last tick
+     */
+    @Getter
+    private volatile int lastDue = 0;
+    /**
+     * How many ticks the most delayed task of the last tick was late
+     */
+    @Getter
+    private volatile long lastLag = 0;
+    @Getter
+    private volatile long maxLag = 0;
+
+    private MinionScheduler(Instance instance) {
+        this.instance = instance;
+    }
+
+    public static MinionScheduler get(Instance instance) {
+        return schedulers.get(instance);
+    }
+
+    public static Collection<MinionScheduler> getSchedulers() {
+        return schedulers.values();
+    }
+
+    void add(AbstractMinion minion) {
+        minions.add(minion);
+    }
+
+    void remove(AbstractMinion minion) {
+        minions.remove(minion);
+    }
+
+    public int getMinionCount() {
+        return minions.size();
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    public synchronized boolean isPaused() {
+        return pausedSince >= 0;
+    }
+
+    /**
+     * @return for how many ticks the scheduler is paused, 0 if it is running
+     */
+    public synchronized long getPausedTicks() {
+        return pausedSince < 0 ? 0 : tick - pausedSince;
+    }
+
+    public Instance getInstance() {
+        return instance;
+    }
+
+    /**
+     * Runs the task once after the delay
+     */
+    public MinionTask delay(MinionTask task, int delay) {
+        return repeat(task, delay, 0);
+    }
+
+    /**
+     * Runs the task after the delay and then every period ticks until it gets cancelled
+     */
+    public synchronized MinionTask repeat(MinionTask task, int delay, int period) {
+        task.due = tick + Math.max(1, delay);
+        task.period = period;
+        task.sequence = sequence++;
+        task.markScheduled();
+        queue.add(task);
+        return task;
+    }
+
+    private void tick() {
+        long now;
+        long paused = 0;
+        synchronized (this) {
+            now = ++tick;
+            if (instance.getPlayers().isEmpty()) {
+                if (pausedSince < 0) pausedSince = now;
+                return;
+            }
+            if (pausedSince >= 0) {
+                paused = now - pausedSince;
+                pausedSince = -1;
+                // Moving every task by the same amount keeps the order of the queue
+                for (MinionTask queued : queue)
+                    queued.due += paused;
+            }
+        }
+        if (paused > 0)
+            for (AbstractMinion minion : minions)
+                minion.produceOffline(paused);
+        int ran = 0;
+        long lag = 0;
+        while (ran < MAX_TASKS_PER_TICK) {
+            MinionTask due;
+            synchronized (this) {
+                due = queue.peek();
+                if (due == null || due.due > now) break;
+                queue.poll();
+            }
+            if (due.isCancelled()) continue;
+            lag = Math.max(lag, now - due.due);
+            ran++;
+            try {
+                due.run();
+            } catch (Exception e) {
+                Main.LOGGER.warn("A minion task failed", e);
+                due.cancel();
+            }
+            if (due.period > 0 && !due.isCancelled()) {
+                synchronized (this) {
+                    due.due = Math.max(due.due + due.period, now + 1);
+                    queue.add(due);
+                }
+            }
+        }
+        lastDue = ran;
+        lastLag = lag;
+        if (lag > maxLag) maxLag = lag;
+    }
+}
@@ -0,0 +1,38 @@
+package me.carscupcake.sbremake.item.minion;
+
+/**
+ * An action or animation step of a minion, run by the {@link MinionScheduler} of its instance.
+ * Cancelled tasks stay in the queue until they are due and get dropped then.
+ */
+public abstract class MinionTask implements Runnable {
+    long due;
+    int period;
+    long sequence;
+    private volatile boolean scheduled = false;
+    private volatile boolean cancelled = false;
+
+    public static MinionTask of(Runnable runnable) {
+        return new MinionTask() {
+            @Override
+            public void run() {
+                runnable.run();
+            }
+        };
+    }
+
+    void markScheduled() {
+        scheduled = true;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isRunning() {
+        return scheduled && !cancelled;
+    }
+}
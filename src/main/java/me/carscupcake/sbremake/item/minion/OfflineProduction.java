@@ -0,0 +1,150 @@
+package me.carscupcake.sbremake.item.minion;
+
+import me.carscupcake.sbremake.item.ISbItem;
+import me.carscupcake.sbremake.item.SbItemStack;
+import me.carscupcake.sbremake.player.SkyblockPlayer;
+import me.carscupcake.sbremake.util.lootTable.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Calculates what a minion produced while its isle was not loaded, without rolling the loot table once per action.
+ * Every loot is dropped a binomially distributed amount of times and the dropped amounts are summed up at once,
+ * so the cost does not depend on how long the isle was offline.
+ * <p>
+ * Coins are skipped like in {@link AbstractMinion#generateLoot()}, rare drop messages are not sent.
+ */
+public class OfflineProduction {
+    /**
+     * Up to this many trials get rolled one by one, above it the distribution gets approximated
+     */
+    private static final int EXACT_TRIALS = 64;
+
+    /**
+     * @param table   the drops of one action
+     * @param player  the owner of the minion, for magic find
+     * @param actions the amount of actions
+     * @return the dropped amount of every item, null if the table contains loot that cannot be simulated in bulk
+     */
+    public static @Nullable Map<SbItemStack, Long> simulate(ILootTable<SbItemStack> table, SkyblockPlayer player, long actions, Random random) {
+        Map<SbItemStack, Long> drops = new LinkedHashMap<>();
+        if (!(table instanceof LootTable<SbItemStack> lootTable) || !roll(lootTable, player, actions, random, drops))
+            return null;
+        drops.values().removeIf(amount -> amount <= 0);
+        return drops;
+    }
+
+    private static boolean roll(LootTable<SbItemStack> table, SkyblockPlayer player, long actions, Random random, Map<SbItemStack, Long> drops) {
+        List<LootTable.Loot<SbItemStack>> loot = table.getLoot();
+        if (actions <= 0 || loot.isEmpty()) return true;
+        if (!table.isSingleLoot()) {
+            for (LootTable.Loot<SbItemStack> l : loot)
+                if (!drop(l, player, binomial(actions, l.chance(player), random), random, drops)) return false;
+            return true;
+        }
+        // Every action drops exactly one of the loots, the chances are their weights
+        double[] weights = new double[loot.size()];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = loot.get(i).chance(player);
+            sum += weights[i];
+        }
+        long remaining = actions;
+        for (int i = 0; i < weights.length && remaining > 0; i++) {
+            long times = (i == weights.length - 1) ? remaining : binomial(remaining, weights[i] / sum, random);
+            if (!drop(loot.get(i), player, times, random, drops)) return false;
+            remaining -= times;
+            sum -= weights[i];
+        }
+        return true;
+    }
+
+    /**
+     * Adds the items of the loot dropping the amount of times
+     */
+    private static boolean drop(LootTable.Loot<SbItemStack> loot, SkyblockPlayer player, long times, Random random, Map<SbItemStack, Long> drops) {
+        if (times <= 0) return true;
+        switch (loot) {
+            case ItemLoot itemLoot -> {
+                // Unique items need their own uuid, these get rolled one by one
+                if (itemLoot.item().sbItem().isUnstackable()) return false;
+                drops.merge(itemLoot.item().withAmount(1), uniformSum(times, itemLoot.min(), itemLoot.max(), random), Long::sum);
+            }
+            case DropPoolLoot poolLoot -> {
+                List<ISbItem> items = poolLoot.items();
+                long remaining = times;
+                for (int i = 0; i < items.size() && remaining > 0; i++) {
+                    long picked = (i == items.size() - 1) ? remaining : binomial(remaining, 1d / (items.size() - i), random);
+                    if (items.get(i).isUnstackable()) return false;
+                    drops.merge(items.get(i).create(), uniformSum(picked, poolLoot.min(), poolLoot.max(), random), Long::sum);
+                    remaining -= picked;
+                }
+            }
+            case LootTable.LootTableLoot<SbItemStack> tableLoot -> {
+                return roll(tableLoot.table(), player, times, random, drops);
+            }
+            case CoinLoot ignored -> {
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the amount of successes out of the trials
+     */
+    static long binomial(long trials, double chance, Random random) {
+        if (trials <= 0 || chance <= 0) return 0;
+        if (chance >= 1) return trials;
+        if (chance > 0.5) return trials - binomial(trials, 1 - chance, random);
+        if (trials <= EXACT_TRIALS) {
+            long successes = 0;
+            for (long i = 0; i < trials; i++)
+                if (random.nextDouble() < chance) successes++;
+            return successes;
+        }
+        double mean = trials * chance;
+        if (mean < 32) {
+            // Skips to the next success, this takes about as many steps as there are successes
+            double logFail = Math.log1p(-chance);
+            long successes = -1;
+            long position = 0;
+            while (position <= trials) {
+                successes++;
+                position += (long) (Math.log(1 - random.nextDouble()) / logFail) + 1;
+            }
+            return successes;
+        }
+        double deviation = Math.sqrt(mean * (1 - chance));
+        return clamp(Math.round(mean + random.nextGaussian() * deviation), 0, trials);
+    }
+
+    /**
+     * @return the sum of the amounts of the drops, rolled like {@link ItemLoot#loot(SkyblockPlayer)} does
+     */
+    static long uniformSum(long times, int min, int max, Random random) {
+        if (times <= 0) return 0;
+        if (min >= max) return times * max;
+        if (times <= EXACT_TRIALS) {
+            long sum = 0;
+            for (long i = 0; i < times; i++)
+                sum += random.nextInt(max - min) + min;
+            return sum;
+        }
+        // Every roll is uniform in [min, max - 1]
+        long range = max - min;
+        double mean = times * (min + max - 1) / 2d;
+        double deviation = Math.sqrt(times * (range * range - 1) / 12d);
+        return clamp(Math.round(mean + random.nextGaussian() * deviation), times * min, times * (max - 1));
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -1,8 +1,8 @@
 package me.carscupcake.sbremake.item.modifiers.enchantment;
 
 import me.carscupcake.sbremake.Stat;
+import me.carscupcake.sbremake.entity.EntityQueries;
 import me.carscupcake.sbremake.entity.MobType;
-import me.carscupcake.sbremake.entity.SkyblockEntity;
 import me.carscupcake.sbremake.event.GetItemStatEvent;
 import me.carscupcake.sbremake.event.PlayerDamageEntityEvent;
 import me.carscupcake.sbremake.event.PlayerMeleeDamageEntityEvent;
@@ -110,8 +110,8 @@ public interface SkyblockEnchantment {
                 Integer smiteLevel = enchantments.get(NormalEnchantments.Cleave);
                 event.getPostEvent().add(e -> {
                     double range = 3d + (0.3 * (double) smiteLevel);
-                    e.getTarget().getInstance().getNearbyEntities(e.getTarget().getPosition(), range).forEach(entity -> {
-                        if (entity instanceof SkyblockEntity sbEntity && sbEntity != e.getTarget()) {
+                    EntityQueries.get(e.getTarget().getInstance()).forEachInRange(e.getTarget().getPosition(), range, sbEntity -> {
+                        if (sbEntity != e.getTarget()) {
                             PlayerDamageEntityEvent entityEvent = new PlayerDamageEntityEvent(e.getPlayer(), sbEntity, EnchantmentUtils.getCleaveBonus(smiteLevel) * ((e.isCrit()) ? e.calculateCritHit() : e.calculateHit()));
                             event.setCanDoFerocity(false);
                             MinecraftServer.getGlobalEventHandler().call(entityEvent);
@@ -1,6 +1,5 @@
 package me.carscupcake.sbremake.listeners;
 
-import me.carscupcake.sbremake.config.ConfigFile;
 import me.carscupcake.sbremake.config.ConfigSection;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.worlds.SkyblockWorld;
@@ -15,7 +14,7 @@ public class AsyncPlayerConfigurationListener implements Consumer<AsyncPlayerCon
         SkyblockPlayer player = (SkyblockPlayer) asyncPlayerConfigurationEvent.getPlayer();
         if (player.getWorldProvider() != null) player.setWorldProvider(null);
         SkyblockWorld world = SkyblockWorld.PrivateIsle;
-        ConfigFile defaults = new ConfigFile("defaults", player);
+        ConfigSection defaults = player.getProfile().readSection("defaults");
         if (defaults.has("world")) {
             world = SkyblockWorld.from(defaults.get("world", ConfigSection.STRING));
         }
@@ -32,6 +31,8 @@ public class AsyncPlayerConfigurationListener implements Consumer<AsyncPlayerCon
             player.setWorldProvider(provider);
         }
         asyncPlayerConfigurationEvent.setSpawningInstance(provider.getContainer());
+        // Runs while the world is getting loaded, the player only spawns after this event returned
+        player.loadProfile();
         asyncPlayerConfigurationEvent.getPlayer().setPermissionLevel(4);
     }
 }
@@ -1,6 +1,7 @@
 package me.carscupcake.sbremake.listeners;
 
 import me.carscupcake.sbremake.player.SkyblockPlayer;
+import me.carscupcake.sbremake.worlds.EntityIndex;
 import net.kyori.adventure.key.Key;
 import net.minestom.server.entity.*;
 import net.minestom.server.entity.attribute.Attribute;
@@ -22,7 +23,7 @@ public class PacketOutListener implements Consumer<PlayerPacketOutEvent> {
     public void accept(PlayerPacketOutEvent event) {
         if (event.getPacket() instanceof EntityMetaDataPacket(int entityId, Map<Integer, Metadata.Entry<?>> entries)) {
             if (event.getPlayer().getInstance() == null) return;
-            Entity entity = event.getPlayer().getInstance().getEntities().stream().filter(entity1 -> entity1.getEntityId() == entityId).findFirst().orElse(null);
+            Entity entity = EntityIndex.get(event.getPlayer().getInstance(), entityId);
             if (entity == null || entity.getEntityType() != EntityType.PLAYER) return;
             //Checking if its bow drawing or if it even is legal
             Metadata.Entry<?> metadata = entries.get(8);
@@ -1,9 +1,8 @@
 package me.carscupcake.sbremake.listeners;
 
-import me.carscupcake.sbremake.config.ConfigFile;
-import me.carscupcake.sbremake.config.ConfigSection;
 import me.carscupcake.sbremake.entity.impl.deepCaverns.RedstonePigman;
 import me.carscupcake.sbremake.item.ISbItem;
+import me.carscupcake.sbremake.item.SbItemStack;
 import me.carscupcake.sbremake.item.impl.other.SkyblockMenu;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.player.potion.PotionEffect;
@@ -24,13 +23,12 @@ public class PlayerSpawnListener implements Consumer<PlayerSpawnEvent> {
             for (PotionEffect effect : player.getPotionEffects()) {
                 player.initPotion(effect);
             }
-            ConfigFile file = new ConfigFile("inventory", player);
-            if (file.getRawElement() != null && !file.getRawElement().getAsJsonObject().isEmpty())
-            {
+            SbItemStack[] inventory = player.getProfile().getItems("inventory");
+            if (inventory != null) {
                 player.getPlayerInventory().clear();
-                for (int i = 0; i < player.getPlayerInventory().getSize(); i++) {
-                    if (file.has(Integer.toString(i)))
-                        player.getPlayerInventory().setItemStack(i, file.get(Integer.toString(i), ConfigSection.ITEM).update(player));
+                for (int i = 0; i < Math.min(inventory.length, player.getPlayerInventory().getSize()); i++) {
+                    if (inventory[i] != null)
+                        player.getPlayerInventory().setItemStack(i, inventory[i].update(player));
                 }
             }
             player.getPlayerInventory().setItemStack(8, ISbItem.get(SkyblockMenu.class).create());
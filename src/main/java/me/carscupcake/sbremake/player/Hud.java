@@ -0,0 +1,107 @@
+package me.carscupcake.sbremake.player;
+
+import me.carscupcake.sbremake.Main;
+import net.kyori.adventure.text.Component;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.packet.server.play.ActionBarPacket;
+import net.minestom.server.scoreboard.Sidebar;
+import net.minestom.server.timer.TaskSchedule;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Renders the action bar and sidebar of a player. Every player renders once per {@link #PERIOD} ticks, in a tick
+ * depending on when it joined, so not all players render in the same tick. A HUD marked dirty renders in the
+ * next tick instead of waiting for its turn.
+ * <p>
+ * Only changed content gets sent: the action bar when its text changed or it is about to fade out, sidebar lines
+ * when their text changed.
+ */
+public class Hud {
+    public static final int PERIOD = 20;
+    /**
+     * The client hides the action bar after 3 seconds, it gets resent before
+     */
+    private static final int ACTION_BAR_REFRESH = 2 * PERIOD;
+    private static int nextPhase = 0;
+    private static long tick = 0;
+
+    private final SkyblockPlayer player;
+    private final ActionBar actionBar;
+    private final int phase;
+    private volatile boolean dirty = false;
+    private String actionBarText = null;
+    private ActionBarPacket actionBarPacket = null;
+    private long actionBarSent = 0;
+    private String[] lines = new String[16];
+    private int lineCount = 0;
+
+    public Hud(SkyblockPlayer player) {
+        this.player = player;
+        this.actionBar = new ActionBar(player);
+        synchronized (Hud.class) {
+            this.phase = nextPhase++ % PERIOD;
+        }
+    }
+
+    public static void init() {
+        MinecraftServer.getSchedulerManager().buildTask(Hud::tick).repeat(TaskSchedule.tick(1)).schedule();
+    }
+
+    private static void tick() {
+        long now = ++tick;
+        for (Player p : MinecraftServer.getConnectionManager().getOnlinePlayers()) {
+            Hud hud = ((SkyblockPlayer) p).getHud();
+            if (!hud.dirty && now % PERIOD != hud.phase) continue;
+            try {
+                hud.render(now);
+            } catch (Exception e) {
+                Main.LOGGER.warn("Could not render the HUD of {}", p.getUsername(), e);
+            }
+        }
+    }
+
+    /**
+     * Renders the HUD in the next tick, for changes that should show up right away
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    private void render(long now) {
+        dirty = false;
+        String text = actionBar.build();
+        if (!text.equals(actionBarText) || now - actionBarSent >= ACTION_BAR_REFRESH) {
+            if (!text.equals(actionBarText)) {
+                actionBarText = text;
+                actionBarPacket = new ActionBarPacket(Component.text(text));
+            }
+            actionBarSent = now;
+            player.sendPacket(actionBarPacket);
+        }
+        renderSidebar();
+    }
+
+    private void renderSidebar() {
+        Sidebar sidebar = player.getSidebar();
+        int count = 0;
+        for (Function<SkyblockPlayer, String[]> display : player.getScoreboardDisplay()) {
+            for (String s : display.apply(player)) {
+                String id = Integer.toString(15 - count);
+                if (count >= lines.length) lines = Arrays.copyOf(lines, lines.length * 2);
+                if (count >= lineCount)
+                    sidebar.createLine(new Sidebar.ScoreboardLine(id, Component.text(s), 15 - count));
+                else if (!s.equals(lines[count]))
+                    sidebar.updateLineContent(id, Component.text(s));
+                lines[count++] = s;
+            }
+        }
+        for (int i = count; i < lineCount; i++) {
+            sidebar.removeLine(Integer.toString(15 - i));
+            lines[i] = null;
+        }
+        lineCount = count;
+    }
+}
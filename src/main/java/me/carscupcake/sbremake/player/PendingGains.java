@@ -0,0 +1,62 @@
+package me.carscupcake.sbremake.player;
+
+import me.carscupcake.sbremake.item.collections.Collection;
+import me.carscupcake.sbremake.player.skill.ISkill;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collection progress and skill xp a player gained during the current tick.
+ * Everything is applied together at the start of the next tick, so a farming or mining burst fires one
+ * {@link me.carscupcake.sbremake.event.PlayerSkillXpEvent}, one level up check and one xp message per skill
+ * instead of one per drop. Call {@link #flush()} before anything reads the progress, like saving the profile.
+ */
+public class PendingGains {
+    private final SkyblockPlayer player;
+    private final Map<Collection, Long> collections = new HashMap<>();
+    private final Map<ISkill, Double> skillXp = new LinkedHashMap<>();
+    private boolean scheduled = false;
+
+    public PendingGains(SkyblockPlayer player) {
+        this.player = player;
+    }
+
+    public synchronized void addCollection(Collection collection, long amount) {
+        if (amount <= 0) return;
+        collections.merge(collection, amount, Long::sum);
+        schedule();
+    }
+
+    public synchronized void addSkillXp(ISkill skill, double xp) {
+        skillXp.merge(skill, xp, Double::sum);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled) return;
+        scheduled = true;
+        player.scheduler().scheduleNextTick(this::flush);
+    }
+
+    /**
+     * Applies everything that was gained since the last flush
+     */
+    public void flush() {
+        Map<Collection, Long> collections;
+        Map<ISkill, Double> skillXp;
+        synchronized (this) {
+            scheduled = false;
+            if (this.collections.isEmpty() && this.skillXp.isEmpty()) return;
+            collections = Map.copyOf(this.collections);
+            skillXp = new LinkedHashMap<>(this.skillXp);
+            this.collections.clear();
+            this.skillXp.clear();
+        }
+        for (Map.Entry<Collection, Long> entry : collections.entrySet())
+            entry.getKey().addProgress(entry.getValue());
+        for (Map.Entry<ISkill, Double> entry : skillXp.entrySet())
+            entry.getKey().applyXp(entry.getValue());
+    }
+}
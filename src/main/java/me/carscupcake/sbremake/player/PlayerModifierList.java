@@ -13,6 +13,18 @@ import java.util.function.Consumer;
 
 public class PlayerModifierList {
     private final MapList<Stat, Pair<PlayerStatEvent.PlayerStatModifier, Task>> modifiers = new MapList<>();
+    private final Runnable onChange;
+
+    public PlayerModifierList() {
+        this(() -> {});
+    }
+
+    /**
+     * @param onChange gets called every time a modifier is added or removed
+     */
+    public PlayerModifierList(Runnable onChange) {
+        this.onChange = onChange;
+    }
 
     public void add(Stat stat, PlayerStatEvent.PlayerStatModifier modifier, Duration duration) {
         Pair<PlayerStatEvent.PlayerStatModifier, Task> pre = null;
@@ -26,6 +38,7 @@ public class PlayerModifierList {
         if (pre != null) modifiers.removeFromList(stat, pre);
         Pair<PlayerStatEvent.PlayerStatModifier, Task> taskPair = new Pair<>(modifier, MinecraftServer.getSchedulerManager().buildTask(() -> removeModifier(stat, modifier)).delay(duration).schedule());
         modifiers.add(stat, taskPair);
+        onChange.run();
     }
 
     public void forEachModifier(Stat stat, Consumer<PlayerStatEvent.PlayerStatModifier> consumer) {
@@ -39,5 +52,6 @@ public class PlayerModifierList {
                 modifiers.removeFromList(stat, pair);
                 pair.getSecond().cancel();
             }
+        onChange.run();
     }
 }
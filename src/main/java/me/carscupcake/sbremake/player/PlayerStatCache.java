@@ -0,0 +1,153 @@
+package me.carscupcake.sbremake.player;
+
+import lombok.Getter;
+import lombok.Setter;
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.Stat;
+import me.carscupcake.sbremake.worlds.SkyblockWorld;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the calculated value of every {@link Stat} for one player.
+ * A value is only recalculated when the cache got invalidated (equipment, potions, hotm, accessory bag,
+ * temporary modifiers, skill levels, full set bonuses) or when the held slot, the active pet, the coins or the world
+ * type changed.
+ * Reading a cached value does not allocate anything.
+ */
+public class PlayerStatCache {
+    private static final int STAT_COUNT = Stat.values().length;
+    /**
+     * When enabled every cached read is compared against a full recalculation and mismatches get logged.
+     * Can be enabled with the VERIFY_STAT_CACHE environment variable or the /statcache command
+     */
+    @Getter
+    @Setter
+    private static volatile boolean verify = System.getenv().getOrDefault("VERIFY_STAT_CACHE", "false").equals("true");
+    private static final AtomicLong staleReads = new AtomicLong();
+
+    private final Source player;
+    private final double[] values = new double[STAT_COUNT * 2];
+    private final int[] computedGeneration = new int[STAT_COUNT * 2];
+    private int generation = 1;
+    private int heldSlot = -1;
+    private StoredPet pet = null;
+    private int petLevel = -1;
+    private double coins = Double.NaN;
+    private SkyblockWorld world = null;
+
+    /**
+     * What the stats of a player get calculated from
+     */
+    interface Source {
+        double computeStat(Stat stat, boolean isBow);
+
+        int getHeldSlot();
+
+        @Nullable StoredPet getPet();
+
+        double getCoins();
+
+        @Nullable SkyblockWorld getWorldType();
+
+        String getUsername();
+    }
+
+    public PlayerStatCache(SkyblockPlayer player) {
+        this(new Source() {
+            @Override
+            public double computeStat(Stat stat, boolean isBow) {
+                return player.computeStat(stat, isBow);
+            }
+
+            @Override
+            public int getHeldSlot() {
+                return player.getHeldSlot();
+            }
+
+            @Override
+            public @Nullable StoredPet getPet() {
+                return player.getPet();
+            }
+
+            @Override
+            public double getCoins() {
+                return player.getCoins();
+            }
+
+            @Override
+            public @Nullable SkyblockWorld getWorldType() {
+                return player.getWorldProvider() == null ? null : player.getWorldProvider().type();
+            }
+
+            @Override
+            public String getUsername() {
+                return player.getUsername();
+            }
+        });
+    }
+
+    PlayerStatCache(Source player) {
+        this.player = player;
+    }
+
+    /**
+     * @return how many cached reads did not match a recalculation since the start, only counted while verifying
+     */
+    public static long getStaleReads() {
+        return staleReads.get();
+    }
+
+    /**
+     * Marks every cached stat as outdated. This is cheap, so call it whenever something changed that
+     * could affect a stat.
+     */
+    public void invalidate() {
+        generation++;
+    }
+
+    public double get(Stat stat, boolean isBow) {
+        checkInputs();
+        int index = stat.ordinal() * 2 + (isBow ? 1 : 0);
+        if (computedGeneration[index] != generation) {
+            int gen = generation;
+            double value = player.computeStat(stat, isBow);
+            // A stat listener could have invalidated the cache while we were calculating
+            if (gen == generation) {
+                values[index] = value;
+                computedGeneration[index] = gen;
+            }
+            return value;
+        }
+        if (verify) verify(stat, isBow, index);
+        return values[index];
+    }
+
+    private void checkInputs() {
+        int slot = player.getHeldSlot();
+        StoredPet currentPet = player.getPet();
+        int currentPetLevel = currentPet == null ? -1 : currentPet.getLevel();
+        // Coins are changed in too many places to invalidate on every change (Emerald Blade), dungeon items only
+        // get their bonus in dungeons
+        double currentCoins = player.getCoins();
+        SkyblockWorld currentWorld = player.getWorldType();
+        if (slot != heldSlot || currentPet != pet || currentPetLevel != petLevel || currentCoins != coins || currentWorld != world) {
+            heldSlot = slot;
+            pet = currentPet;
+            petLevel = currentPetLevel;
+            coins = currentCoins;
+            world = currentWorld;
+            generation++;
+        }
+    }
+
+    private void verify(Stat stat, boolean isBow, int index) {
+        double actual = player.computeStat(stat, isBow);
+        if (Math.abs(actual - values[index]) > 1e-9) {
+            staleReads.incrementAndGet();
+            Main.LOGGER.warn("Stale stat cache for {}: {} (bow: {}) cached {} but is {}", player.getUsername(), stat, isBow, values[index], actual);
+            values[index] = actual;
+        }
+    }
+}
@@ -8,10 +8,12 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import me.carscupcake.sbremake.Main;
 import me.carscupcake.sbremake.Stat;
-import me.carscupcake.sbremake.blocks.Log;
+import me.carscupcake.sbremake.blocks.BlockBreakTable;
 import me.carscupcake.sbremake.blocks.Mining;
 import me.carscupcake.sbremake.config.ConfigFile;
 import me.carscupcake.sbremake.config.ConfigSection;
+import me.carscupcake.sbremake.config.PlayerProfile;
+import me.carscupcake.sbremake.entity.EntityQueries;
 import me.carscupcake.sbremake.entity.SkyblockEntity;
 import me.carscupcake.sbremake.entity.SkyblockEntityProjectile;
 import me.carscupcake.sbremake.entity.slayer.ISlayer;
@@ -88,13 +90,15 @@ import net.minestom.server.timer.TaskSchedule;
 import net.minestom.server.utils.time.TimeUnit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
-import org.reflections.Reflections;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Modifier;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 @Slf4j
@@ -158,19 +162,8 @@ public class SkyblockPlayer extends Player {
                 long time = System.currentTimeMillis();
                 long delta = time - player.lastAttack;
                 Pos eyePos = player.getPosition().add(0, player.getEyeHeight(), 0);
-                Set<Entity> entities = EntityUtils.getEntitiesInLine(eyePos, eyePos.add(player.getPosition().direction().normalize().mul(player.getStat(Stat.SwingRange)).asPosition()), player.getInstance());
-                double low = Double.MAX_VALUE;
-                SkyblockEntity entity = null;
-                for (Entity e : entities) {
-                    if (e instanceof SkyblockEntity sbEntity) {
-                        double distance = sbEntity.getDistance(eyePos);
-                        if (distance < low) {
-                            low = distance;
-                            entity = sbEntity;
-                        }
-                    }
-                }
-                if (entity != null && EntityUtils.blocksInSight(player.getInstance(), eyePos, eyePos.direction(), low)) {
+                SkyblockEntity entity = EntityQueries.get(player.getInstance()).firstOnLine(eyePos, eyePos.add(player.getPosition().direction().normalize().mul(player.getStat(Stat.SwingRange))));
+                if (entity != null && EntityUtils.blocksInSight(player.getInstance(), eyePos, eyePos.direction(), entity.getDistance(eyePos))) {
                     entity = null;
                 }
                         /*Entity result = player.getLineOfSightEntity(player.getStat(Stat.SwingRange), entity -> entity.getEntityType() != EntityType.PLAYER && entity instanceof LivingEntity);
@@ -249,12 +242,7 @@ public class SkyblockPlayer extends Player {
                                     damage /= 30;
                                     if (damage > 1) {
                                         Block b = player.getInstance().getBlock(packet.blockPosition());
-                                        boolean log = false;
-                                        for (Log l : Log.logs)
-                                            if (Objects.requireNonNull(l.block().registry().material()).equals(b.registry().material())) {
-                                                log = true;
-                                                break;
-                                            }
+                                        boolean log = BlockBreakTable.log(b) != null;
                                         if (player.getInstance().breakBlock(player, packet.blockPosition(), packet.blockFace(), true)) {
                                             event.setCancelled(true);
                                             player.playSound(log ? SoundType.BLOCK_WOOD_BREAK : SoundType.BLOCK_STONE_BREAK, Sound.Source.BLOCK, 1, 1);
@@ -341,7 +329,7 @@ public class SkyblockPlayer extends Player {
                 if (npc.getInteraction() != null)
                     npc.getInteraction().interact(player, PlayerInteractEvent.Interaction.Right);
             } else if (((SkyblockPlayer) event.getPlayer()).getSbItemInMainHand().item().material() != Material.FISHING_ROD)
-                MinecraftServer.getGlobalEventHandler().call(new PlayerInteractEvent(player, player.getInstance().getEntities().stream().filter(entity -> entity.getEntityId() == packet.targetId()).findFirst().orElse(null), PlayerInteractEvent.Interaction.Right));
+                MinecraftServer.getGlobalEventHandler().call(new PlayerInteractEvent(player, EntityIndex.get(player.getInstance(), packet.targetId()), PlayerInteractEvent.Interaction.Right));
         }
 
     }).addListener(ProjectileCollideWithBlockEvent.class, event -> {
@@ -448,15 +436,7 @@ public class SkyblockPlayer extends Player {
             ((SkyblockPlayer) event.getPlayer()).openSkyblockMenu();
         }
         //Todo make item drop
-    }).addListener(PlayerMoveEvent.class, event -> {
-        SkyblockPlayer player = (SkyblockPlayer) event.getPlayer();
-        for (Launchpad launchpad : player.getWorldProvider().getLaunchpads())
-            if (launchpad.inBox(player)) launchpad.launch(player);
-
-    }).addListener(PlayerGameModeChangeEvent.class, event -> MinecraftServer.getSchedulerManager().buildTask(() -> event.getPlayer().sendPacket(new PlayerAbilitiesPacket(event.getNewGameMode() == GameMode.CREATIVE || event.getNewGameMode() == GameMode.SPECTATOR ? PlayerAbilitiesPacket.FLAG_ALLOW_FLYING : (byte) 0, (float) (0.1 * (((SkyblockPlayer) event.getPlayer()).getStat(Stat.Speed) / 100d)), (float) (0.1 * (((SkyblockPlayer) event.getPlayer()).getStat(Stat.Speed) / 100d))))).delay(TaskSchedule.tick(2)).schedule()).addListener(PlayerMoveEvent.class, event -> {
-        if (event.getPlayer().getGameMode().invulnerable()) return;
-        if (event.getNewPosition().y() <= -64) ((SkyblockPlayer) event.getPlayer()).setSbHealth(0);
-    }).addListener(PlayerInteractEvent.class, event -> {
+    }).addListener(PlayerGameModeChangeEvent.class, event -> MinecraftServer.getSchedulerManager().buildTask(() -> event.getPlayer().sendPacket(new PlayerAbilitiesPacket(event.getNewGameMode() == GameMode.CREATIVE || event.getNewGameMode() == GameMode.SPECTATOR ? PlayerAbilitiesPacket.FLAG_ALLOW_FLYING : (byte) 0, (float) (0.1 * (((SkyblockPlayer) event.getPlayer()).getStat(Stat.Speed) / 100d)), (float) (0.1 * (((SkyblockPlayer) event.getPlayer()).getStat(Stat.Speed) / 100d))))).delay(TaskSchedule.tick(2)).schedule()).addListener(PlayerInteractEvent.class, event -> {
         if (event.player().isSneaking()) return;
         if (event.block() == null) return;
         if (event.interaction() != PlayerInteractEvent.Interaction.Right) return;
@@ -489,7 +469,8 @@ public class SkyblockPlayer extends Player {
     public static Task regenTask;
     @Getter
     public final Sidebar sidebar = new Sidebar(Component.text("§6§lSKYBLOCK"));
-    private final ActionBar actionBar = new ActionBar(this);
+    @Getter
+    private final Hud hud = new Hud(this);
     private final Map<FullSetBonus, Integer> fullSetBonuses = new HashMap<>();
     @Getter
     private final Map<String, me.carscupcake.sbremake.item.collections.Collection> collections = new HashMap<>();
@@ -498,9 +479,13 @@ public class SkyblockPlayer extends Player {
     private final List<String> tags;
     private final Map<Powder, Integer> powder = new HashMap<>();
     @Getter
-    private final HeartOfTheMountain hotm;
+    private HeartOfTheMountain hotm;
     @Getter
-    private final PlayerModifierList temporaryModifiers = new PlayerModifierList();
+    private final PlayerStatCache statCache = new PlayerStatCache(this);
+    @Getter
+    private final PendingGains pendingGains = new PendingGains(this);
+    @Getter
+    private final PlayerModifierList temporaryModifiers = new PlayerModifierList(this::invalidateStats);
     @Getter
     private final Deque<Pair<SbItemStack, Integer>> sellHistory = new ArrayDeque<>() {
         @Override
@@ -520,9 +505,16 @@ public class SkyblockPlayer extends Player {
     @Getter
     private final UUID configId;
     @Getter
+    private final PlayerProfile profile;
+    @Getter
     private final SkyblockPlayerInventory playerInventory = new SkyblockPlayerInventory(this);
     @Getter
-    private final AccessoryBag accessoryBag;
+    private AccessoryBag accessoryBag;
+    /**
+     * If skills, collections, slayers, pets, hotm and the accessory bag are loaded, see {@link #loadProfile()}
+     */
+    @Getter
+    private volatile boolean profileLoaded = false;
     @Setter
     public UpdateHealthPacket lastHealthPacket = null;
     @Getter
@@ -620,17 +612,13 @@ public class SkyblockPlayer extends Player {
         super.callSpawn = false;
         this.inventory = playerInventory;
         this.configId = configId;
+        this.profile = PlayerProfile.load(configId);
         ConfigFile file = new ConfigFile("defaults", this);
         zealotPity = file.get("zealotPity", ConfigSection.INTEGER, 0);
         coins = file.get("coins", ConfigSection.DOUBLE, 0d);
         bankBalance = file.get("bankBalance", ConfigSection.DOUBLE, 0d);
         bankAccountType = BankAccountType.valueOf(file.get("bankAccountType", ConfigSection.STRING, BankAccountType.Starter.name())) ;
         tags = new ArrayList<>(List.of(file.get("tags", ConfigSection.STRING_ARRAY, new String[0])));
-        for (Skill skill : Skill.values()) {
-            var skillInstance = skill.instantiate(this);
-            skills.put(skill, skillInstance);
-            initSkyblockXpTask(skillInstance);
-        }
         ConfigSection section = file.get("powder", ConfigSection.SECTION, new ConfigSection(new JsonObject()));
         for (Powder p : Powder.values()) {
             powder.put(p, section.get(p.getId(), ConfigSection.INTEGER, 0));
@@ -640,31 +628,70 @@ public class SkyblockPlayer extends Player {
             me.carscupcake.sbremake.player.potion.PotionEffect effect = new me.carscupcake.sbremake.player.potion.PotionEffect(s, section1);
             potionEffects.add(effect);
         });
-        for (ISlayer s : Slayers.values()) {
-            slayers.put(s, new PlayerSlayer(this, s));
-        }
-        sbHealth = getMaxSbHealth();
         setNoGravity(true);
-        Reflections reflections = new Reflections("me.carscupcake.sbremake.item.collections.impl");
-        for (Class<? extends me.carscupcake.sbremake.item.collections.Collection> clazz : reflections.getSubTypesOf(me.carscupcake.sbremake.item.collections.Collection.class)) {
-            try {
-                if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) continue;
-                Constructor<? extends me.carscupcake.sbremake.item.collections.Collection> constructor = clazz.getConstructor(SkyblockPlayer.class);
-                var collection = constructor.newInstance(this);
+    }
+
+    /**
+     * Loads the parts of the profile that do not depend on each other, each one on its own virtual thread.
+     * This is called during the configuration phase and blocks until everything is loaded, so it is done before the player spawns.
+     */
+    public void loadProfile() {
+        if (profileLoaded) return;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Map<Skill, ISkill>> skillsLoad = executor.submit(this::loadSkills);
+            Future<List<me.carscupcake.sbremake.item.collections.Collection>> collectionsLoad = executor.submit(this::loadCollections);
+            Future<Map<ISlayer, PlayerSlayer>> slayersLoad = executor.submit(this::loadSlayers);
+            Future<?> petsLoad = executor.submit(this::loadPets);
+            Future<AccessoryBag> accessoryBagLoad = executor.submit(() -> new AccessoryBag(new ConfigFile("accessoryBag", this), profile.getItems("accessoryBag"), 3));
+            Future<HeartOfTheMountain> hotmLoad = executor.submit(() -> new HeartOfTheMountain(this));
+            skills.putAll(skillsLoad.get());
+            for (ISkill skill : skills.values())
+                initSkyblockXpTask(skill);
+            for (var collection : collectionsLoad.get()) {
                 collections.put(collection.getId(), collection);
                 initSkyblockXpTask(collection);
-            } catch (Exception e) {
-                kick("§cError while loading");
-                throw new RuntimeException(e);
             }
+            slayers.putAll(slayersLoad.get());
+            petsLoad.get();
+            accessoryBag = accessoryBagLoad.get();
+            hotm = hotmLoad.get();
+        } catch (InterruptedException | ExecutionException e) {
+            kick("§cError while loading");
+            throw new RuntimeException(e);
         }
-        this.accessoryBag = new AccessoryBag(new ConfigFile("accessoryBag", this), 3);
-        this.hotm = new HeartOfTheMountain(this);
-        ConfigFile f = new ConfigFile("pets", this);
+        profileLoaded = true;
+        invalidateStats();
+        sbHealth = getMaxSbHealth();
+    }
+
+    private Map<Skill, ISkill> loadSkills() {
+        Map<Skill, ISkill> loaded = new EnumMap<>(Skill.class);
+        for (Skill skill : Skill.values())
+            loaded.put(skill, skill.instantiate(this));
+        return loaded;
+    }
+
+    private List<me.carscupcake.sbremake.item.collections.Collection> loadCollections() throws ReflectiveOperationException {
+        List<me.carscupcake.sbremake.item.collections.Collection> loaded = new ArrayList<>();
+        for (Constructor<? extends me.carscupcake.sbremake.item.collections.Collection> constructor : me.carscupcake.sbremake.item.collections.Collection.getImplementations())
+            loaded.add(constructor.newInstance(this));
+        return loaded;
+    }
+
+    private Map<ISlayer, PlayerSlayer> loadSlayers() {
+        Map<ISlayer, PlayerSlayer> loaded = new HashMap<>();
+        for (ISlayer s : Slayers.values())
+            loaded.put(s, new PlayerSlayer(this, s));
+        return loaded;
+    }
+
+    private void loadPets() {
+        ConfigSection f = profile.readSection("pets");
         pets.addAll(f.get("stored", STORED_PET_LIST_DATA, new ArrayList<>()));
         if (f.get("equipped", ConfigSection.INTEGER, -1) >= 0) {
             pet = pets.get(f.get("equipped", ConfigSection.INTEGER));
         }
+        invalidateStats();
     }
 
     public void showBank() {
@@ -910,6 +937,7 @@ public class SkyblockPlayer extends Player {
                     me.carscupcake.sbremake.player.potion.PotionEffect effect = player.potionEffects.pollFirst();
                     assert effect != null;
                     effect.potion().stop(player, effect.amplifier());
+                    player.invalidateStats();
                 }
             }
             double speed = player.getStat(Stat.Speed);
@@ -929,41 +957,22 @@ public class SkyblockPlayer extends Player {
                 player.addMana(e.getRegenAmount() * e.getMultiplier());
             }
 
-            ActionBarPacket packet = new ActionBarPacket(Component.text(player.actionBar.build()));
             if (player.defenseString != null) {
                 player.defenseStringTicks--;
-                if (player.defenseStringTicks == 0) player.defenseString = null;
+                if (player.defenseStringTicks == 0) {
+                    player.defenseString = null;
+                    player.hud.markDirty();
+                }
             }
             if (player.notEnoughMana) {
                 player.notEnoughManaTicks--;
-                if (player.notEnoughManaTicks == 0) player.notEnoughMana = false;
-            }
-            player.sendPacket(packet);
-            int lines = 0;
-            Set<Sidebar.ScoreboardLine> lineCopie = new HashSet<>(player.sidebar.getLines());
-            for (Function<SkyblockPlayer, String[]> display : player.scoreboardDisplay) {
-                String[] l = display.apply(player);
-                for (String s : l) {
-                    Component text = Component.text(s);
-                    String id = Integer.toString(15 - lines);
-                    if (lines >= lineCopie.size())
-                        player.sidebar.createLine(new Sidebar.ScoreboardLine(id, text, 15 - lines));
-                    else {
-                        Sidebar.ScoreboardLine line = player.sidebar.getLine(id);
-                        if (line == null) {
-                            System.err.println("Warning! Line " + (id) + " is null!");
-                            continue;
-                        }
-                        if (!line.getContent().equals(text)) player.sidebar.updateLineContent(id, text);
-                    }
-                    lines++;
+                if (player.notEnoughManaTicks == 0) {
+                    player.notEnoughMana = false;
+                    player.hud.markDirty();
                 }
             }
-            for (int i = lines; i < lineCopie.size(); i++) {
-                String id = Integer.toString(15 - i);
-                player.sidebar.removeLine(id);
-            }
         })).repeat(TaskSchedule.seconds(1)).schedule();
+        Hud.init();
     }
 
     private static float getMaxHearts(double maxHealth) {
@@ -1037,6 +1046,7 @@ public class SkyblockPlayer extends Player {
     }
 
     public void startPotionEffect(me.carscupcake.sbremake.player.potion.PotionEffect effect) {
+        invalidateStats();
         if (effect.potion().isInstant()) {
             effect.potion().start(this, effect.amplifier(), 0);
             return;
@@ -1244,15 +1254,21 @@ public class SkyblockPlayer extends Player {
     }
 
     public void save() {
-        if (noSave) return;
-        ConfigFile configFile = new ConfigFile("inventory", this);
-        configFile.setRawElement(new JsonObject());
-        for (int i = 0; i < this.getInventory().getSize(); i++) {
+        if (noSave || !profileLoaded) return;
+        pendingGains.flush();
+        // Every section ends up in the same profile file, so it only gets written once at the end
+        profile.edit(this::saveSections);
+        Main.LOGGER.info("Saved profile from {}", ((TextComponent) this.getName()).content());
+    }
+
+    private void saveSections() {
+        SbItemStack[] inventory = new SbItemStack[this.getInventory().getSize()];
+        for (int i = 0; i < inventory.length; i++) {
             SbItemStack item = getPlayerInventory().getSbItemStack(i);
-            if (item == SbItemStack.AIR) continue;
-            configFile.set(i + "", item, ConfigSection.ITEM);
+            if (item != SbItemStack.AIR) inventory[i] = item;
         }
-        configFile.save();
+        profile.setItems("inventory", inventory);
+        profile.setItems("accessoryBag", accessoryBag.getItems().toArray(SbItemStack[]::new));
         var accessoryBagConfig = new ConfigFile("accessoryBag", this);
         ((ConfigFile) accessoryBag.save(accessoryBagConfig)).save();
         ConfigFile defaults = new ConfigFile("defaults", this);
@@ -1272,19 +1288,25 @@ public class SkyblockPlayer extends Player {
             potionEffect.store(potions);
         defaults.set("potions", potions, ConfigSection.SECTION);
         defaults.save();
-        for (ISkill skill : this.skills.values()) skill.save();
-        collections.values().forEach(me.carscupcake.sbremake.item.collections.Collection::save);
+        // Every skill and collection writes into the same section, so each one is copied and stored once
+        ConfigFile skillsFile = new ConfigFile("skills", this);
+        for (ISkill skill : this.skills.values()) skill.save(skillsFile);
+        skillsFile.save();
+        ConfigFile collectionsFile = new ConfigFile("collections", this);
+        for (var collection : collections.values()) collection.save(collectionsFile);
+        collectionsFile.save();
         hotm.save();
         ConfigFile petsFile = new ConfigFile("pets", this);
         petsFile.set("stored", pets, STORED_PET_LIST_DATA);
         petsFile.set("equipped", (pet == null) ? -1 : pets.indexOf(pet), ConfigSection.INTEGER);
         petsFile.save();
-        Main.LOGGER.info("Saved profile from {}", ((TextComponent) this.getName()).content());
 
         ConfigFile file = new ConfigFile("slayer", this);
+        ConfigFile rngMeters = new ConfigFile("rngmeters", this);
         for (PlayerSlayer s : slayers.values())
-            s.save(file);
+            s.save(file, rngMeters);
         file.save();
+        rngMeters.save();
     }
 
     public ISkill getSkill(Skill skill) {
@@ -1329,11 +1351,13 @@ public class SkyblockPlayer extends Player {
     public void setDefenseString(String s) {
         defenseString = s;
         defenseStringTicks = 2;
+        hud.markDirty();
     }
 
     public void setNotEnoughMana() {
         notEnoughMana = true;
         notEnoughManaTicks = 2;
+        hud.markDirty();
     }
 
     //For some reason the default implementation does not work :/
@@ -1465,6 +1489,13 @@ public class SkyblockPlayer extends Player {
     }
 
     public double getStat(Stat stat, boolean isBow) {
+        return statCache.get(stat, isBow);
+    }
+
+    /**
+     * Calculates the stat without the cache, use {@link #getStat(Stat, boolean)} instead
+     */
+    double computeStat(Stat stat, boolean isBow) {
         double value = getStatModifiers(stat, isBow).calculate();
         if (stat.getMaxValue() > 0 && stat.getMaxValue() < value) value = stat.getMaxValue();
         if (value < 0) value = 0;
@@ -1585,6 +1616,13 @@ public class SkyblockPlayer extends Player {
         return event;
     }
 
+    /**
+     * Has to be called when something changed that modifies a stat outside the tracked inputs
+     */
+    public void invalidateStats() {
+        statCache.invalidate();
+    }
+
     public int getFullSetBonusPieceAmount(FullSetBonus bonus) {
         return fullSetBonuses.getOrDefault(bonus, 0);
     }
@@ -1628,13 +1666,9 @@ public class SkyblockPlayer extends Player {
         }
         if (!getInventory().addItemStack(item.item())) return false;
         if (isCollection) {
-            for (me.carscupcake.sbremake.item.collections.Collection collection : collections.values()) {
-                int amount = collection.progress(item.sbItem());
-                if (amount > 0) {
-                    collection.addProgress(amount * item.item().amount());
-                    break;
-                }
-            }
+            var drop = me.carscupcake.sbremake.item.collections.Collection.getDrop(item.sbItem(), collections.values());
+            if (drop != null)
+                pendingGains.addCollection(collections.get(drop.collectionId()), (long) drop.amount() * item.item().amount());
         }
         return true;
     }
@@ -1830,6 +1864,7 @@ public class SkyblockPlayer extends Player {
             if (stack == null) continue;
             inventory.setItemStack(slot.armorSlot(), stack.update(this));
         }
+        invalidateStats();
     }
 
     public void playSound(SoundType type, Sound.Source source, float volume, float pitch) {
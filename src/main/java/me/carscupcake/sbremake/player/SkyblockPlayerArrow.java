@@ -2,24 +2,18 @@ package me.carscupcake.sbremake.player;
 
 import lombok.Getter;
 import me.carscupcake.sbremake.Stat;
+import me.carscupcake.sbremake.entity.ProjectileTicker;
 import me.carscupcake.sbremake.item.SbItemStack;
 import me.carscupcake.sbremake.item.impl.arrows.SkyblockArrow;
 import me.carscupcake.sbremake.item.impl.bow.BowItem;
 import me.carscupcake.sbremake.item.impl.bow.Shortbow;
-import me.carscupcake.sbremake.util.ParticleUtils;
-import net.minestom.server.ServerFlag;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.EntityProjectile;
 import net.minestom.server.entity.EntityType;
-import net.minestom.server.entity.Player;
 import net.minestom.server.entity.PlayerHand;
 import net.minestom.server.item.Material;
-import net.minestom.server.network.packet.server.play.EntityVelocityPacket;
-import net.minestom.server.particle.Particle;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.Duration;
-
 @Getter
 public class SkyblockPlayerArrow extends EntityProjectile {
     private final SkyblockArrow arrow;
@@ -30,27 +24,19 @@ public class SkyblockPlayerArrow extends EntityProjectile {
     private final double ferocity;
     private final boolean canCrit;
     private final SbItemStack item;
+    private final boolean critParticles;
 
     public SkyblockPlayerArrow(@NotNull SkyblockPlayer player, SkyblockArrow arrow, boolean crits, boolean critParticlesEnabled, SbItemStack item) {
         super(player, EntityType.ARROW);
         this.item = item;
         this.arrow = arrow;
-        scheduler().buildTask(() -> {
-            if (this.isRemoved() || this.getInstance() == null || this.getVelocity() == Vec.ZERO) {
-                return;
-            }
-            for (Player pl : this.getInstance().getPlayers().stream().filter(player1 -> player1.getDistance(this) < 16d * 8d).toList()) {
-                pl.sendPacket(new EntityVelocityPacket(this.getEntityId(), this.getVelocity().mul((double) (8000.0F / (float) ServerFlag.SERVER_TICKS_PER_SECOND))));
-            }
-            if (crits && critParticlesEnabled)
-                ParticleUtils.spawnParticle(this.getInstance(), this.getPosition(), Particle.CRIT, 1);
-        }).repeat(Duration.ofMillis(50)).schedule();
         weaponDamage = player.getStat(Stat.Damage, true);
         strength = player.getStat(Stat.Strength, true);
         critDamage = player.getStat(Stat.CritDamage, true);
         critChance = player.getStat(Stat.CritChance, true);
         ferocity = player.getStat(Stat.Ferocity, true);
         canCrit = crits;
+        critParticles = crits && critParticlesEnabled;
     }
 
     @Override
@@ -74,6 +60,7 @@ public class SkyblockPlayerArrow extends EntityProjectile {
         projectile.setVelocity(shootVec.normalize().mul(60 * chargingSeconds));
         projectile.setView((float) Math.toDegrees(Math.atan2(projectile.getVelocity().x(), projectile.getVelocity().z())), (float) Math.toDegrees(Math.atan2(projectile.getVelocity().y(), Math.sqrt(projectile.getVelocity().x() * projectile.getVelocity().x() + projectile.getVelocity().z() * projectile.getVelocity().z()))));
         projectile.setNoGravity(false);
+        ProjectileTicker.get(player.getInstance()).add(projectile, projectile.critParticles);
     }
 
     public static void shootBow(SkyblockPlayer player, long chargeTime, SbItemStack bow, SkyblockArrow arrow) {
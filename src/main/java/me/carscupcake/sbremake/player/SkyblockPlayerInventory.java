@@ -50,6 +50,7 @@ public class SkyblockPlayerInventory extends PlayerInventory implements Iterable
             EventDispatcher.call(entityEquipEvent);
             itemStack = entityEquipEvent.getSbItemStack();
             this.player.updateEquipmentAttributes(this.itemStacks[slot].item(), itemStack.item(), equipmentSlot);
+            this.player.invalidateStats();
         }
 
         this.itemStacks[slot] = itemStack;
@@ -40,8 +40,13 @@ public class AccessoryBag {
     @Setter
     private Map<AccessoryStatTunings, Integer> tunings = new HashMap<>();
 
-    public AccessoryBag(ConfigSection config, int capacity) {
-        items = Arrays.stream(config.get("items", ConfigSection.ITEM_ARRAY, new SbItemStack[0])).parallel().collect(Collectors.toCollection(ArrayList::new));
+    /**
+     * @param config   the section containing the tunings
+     * @param items    the stored accessories, may be null
+     * @param capacity the amount of slots
+     */
+    public AccessoryBag(ConfigSection config, SbItemStack[] items, int capacity) {
+        this.items = (items == null) ? new ArrayList<>() : Arrays.stream(items).filter(Objects::nonNull).collect(Collectors.toCollection(ArrayList::new));
         this.capacity = capacity;
         computeMagicalPower();
         for (var elementEntry : config.get("tunings", ConfigSection.SECTION, new ConfigSection(new JsonObject())).getRawElement().getAsJsonObject().entrySet()) {
@@ -49,8 +54,10 @@ public class AccessoryBag {
         }
     }
 
+    /**
+     * Stores the tunings, the items are stored as an item section of the profile
+     */
     public ConfigSection save(ConfigSection config) {
-        config.set("items", items.toArray(SbItemStack[]::new), ConfigSection.ITEM_ARRAY);
         var tuningSection = config.get("tunings", ConfigSection.SECTION, new  ConfigSection(new JsonObject()));
         for (var tuning : tunings.entrySet()) {
             tuningSection.set(tuning.getKey().name(), tuning.getValue(), ConfigSection.INTEGER);
@@ -123,6 +130,7 @@ public class AccessoryBag {
             AccessoryBag.this.items.clear();
             AccessoryBag.this.items.addAll(items);
             AccessoryBag.this.computeMagicalPower();
+            player.invalidateStats();
             return false;
         });
     }
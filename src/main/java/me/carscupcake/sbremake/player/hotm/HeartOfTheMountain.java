@@ -39,7 +39,7 @@ public class HeartOfTheMountain {
 
     public HeartOfTheMountain(SkyblockPlayer player) {
         this.player = player;
-        ConfigFile file = new ConfigFile("hotm", player);
+        ConfigSection file = player.getProfile().readSection("hotm");
         String activeId = file.get("active_ability", ConfigSection.STRING);
         level = file.get("level", ConfigSection.INTEGER, 0);
         xp = file.get("xp", ConfigSection.INTEGER, 0);
@@ -254,6 +254,7 @@ public class HeartOfTheMountain {
     }
 
     private void updateAfterUpgrade(HotmUpgrade upgrade, int slot, OversizedGui gui) {
+        player.invalidateStats();
         ItemStack item = upgrade.getItem();
         gui.getInventory().setItemStack(slot - gui.getIndex() * 9, item);
         int row = (int) (slot / 9d);
@@ -62,8 +62,7 @@ public abstract class HotmUpgrade {
     public HotmUpgrade(SkyblockPlayer player, Class<? extends HotmUpgrade>... priorUpgrades) {
         this.priorUpgrades = (priorUpgrades == null) ? new Class[0] : priorUpgrades;
         this.player = player;
-        ConfigFile file = new ConfigFile("hotm", player);
-        ConfigSection section = file.get(getId(), ConfigSection.SECTION, new ConfigSection(new JsonObject()));
+        ConfigSection section = player.getProfile().readSection("hotm").get(getId(), ConfigSection.SECTION, new ConfigSection(new JsonObject()));
         level = section.get("level", ConfigSection.INTEGER, 0);
         enabled = section.get("enabled", ConfigSection.BOOLEAN, true);
     }
@@ -3,7 +3,6 @@ package me.carscupcake.sbremake.player.skill;
 import com.google.gson.JsonObject;
 import lombok.Getter;
 import me.carscupcake.sbremake.Stat;
-import me.carscupcake.sbremake.config.ConfigFile;
 import me.carscupcake.sbremake.config.ConfigSection;
 import me.carscupcake.sbremake.event.PlayerSkillXpEvent;
 import me.carscupcake.sbremake.item.Lore;
@@ -53,8 +52,7 @@ public abstract class ISkill implements SkyblockXpTask {
         this.showItem = showItem;
         this.fiveLevelItem = fiveLevelItem;
         this.basicLore = basicLore;
-        ConfigFile file = new ConfigFile("skills", player);
-        ConfigSection section = file.get(id, ConfigSection.SECTION, new ConfigSection(new JsonObject()));
+        ConfigSection section = player.getProfile().readSection("skills").get(id, ConfigSection.SECTION, new ConfigSection(new JsonObject()));
         xp = section.get("xp", ConfigSection.DOUBLE, 0d);
         level = section.get("level", ConfigSection.INTEGER, 0);
     }
@@ -82,7 +80,19 @@ public abstract class ISkill implements SkyblockXpTask {
 
     public abstract Stat getWisdomStat();
 
+    /**
+     * Adds the xp at the start of the next tick, together with all other xp of this skill gained until then
+     *
+     * @see me.carscupcake.sbremake.player.PendingGains
+     */
     public void addXp(double amount) {
+        player.getPendingGains().addSkillXp(this, amount);
+    }
+
+    /**
+     * Applies wisdom and other multipliers to the xp and adds it right away
+     */
+    public void applyXp(double amount) {
         amount = calculateXp(amount);
         if (player.getPet() != null) {
             player.getPet().addXp(player.getPet().getPet().getPetType().apply(amount, this.getType()));
@@ -110,6 +120,7 @@ public abstract class ISkill implements SkyblockXpTask {
     }
 
     public void levelUp(int level) {
+        player.invalidateStats();
         List<Reward> rewards = getRewards(level);
         for (Reward reward : rewards)
             reward.reward(player);
@@ -135,13 +146,14 @@ public abstract class ISkill implements SkyblockXpTask {
         return lore;
     }
 
-    public void save() {
-        ConfigFile file = new ConfigFile("skills", player);
+    /**
+     * @param file the skills section of the profile, shared by every skill of the player
+     */
+    public void save(ConfigSection file) {
         ConfigSection section = file.get(id, ConfigSection.SECTION, new ConfigSection(new JsonObject()));
         section.set("xp", xp, ConfigSection.DOUBLE);
         section.set("level", level, ConfigSection.INTEGER);
         file.set(id, section, ConfigSection.SECTION);
-        file.save();
     }
 
     public Skill getType() {
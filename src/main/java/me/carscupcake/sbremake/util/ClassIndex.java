@@ -0,0 +1,81 @@
+package me.carscupcake.sbremake.util;
+
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.item.ISbItem;
+import me.carscupcake.sbremake.item.collections.Collection;
+import me.carscupcake.sbremake.item.impl.rune.IRune;
+import me.carscupcake.sbremake.item.minion.IMinionData;
+import net.minestom.server.command.builder.Command;
+import org.reflections.Reflections;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists the implementations of the types that get instantiated on startup.
+ * The list is generated at build time by the generateClassIndex gradle task (see {@link ClassIndexGenerator}),
+ * so there is no classpath scanning at runtime. When the index is missing, for example when starting from an IDE
+ * without gradle, the classpath gets scanned instead.
+ */
+public class ClassIndex {
+    public static final String INDEX_PATH = "META-INF/class-index/";
+    /**
+     * The types that are indexed, every concrete implementation in the project is listed
+     */
+    public static final List<Class<?>> INDEXED_TYPES = List.of(ISbItem.class, IMinionData.class, Command.class, Collection.class, IRune.class);
+
+    /**
+     * @param type the indexed type
+     * @param pack only classes in this package (or sub packages) are returned
+     * @return every class that implements the type and can be instantiated, in a stable order
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<Class<? extends T>> getImplementations(Class<T> type, String pack) {
+        if (!INDEXED_TYPES.contains(type)) throw new IllegalArgumentException(type + " is not indexed");
+        List<String> names = read(type);
+        if (names == null) {
+            Main.LOGGER.warn("No class index for {}, scanning {} instead", type.getSimpleName(), pack);
+            return scan(type, pack);
+        }
+        List<Class<? extends T>> classes = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (!name.startsWith(pack + ".")) continue;
+            try {
+                classes.add((Class<? extends T>) Class.forName(name));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("The class index is outdated, " + name + " does not exist anymore", e);
+            }
+        }
+        return classes;
+    }
+
+    private static List<String> read(Class<?> type) {
+        InputStream stream = ClassIndex.class.getClassLoader().getResourceAsStream(INDEX_PATH + type.getName());
+        if (stream == null) return null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().map(String::trim).filter(line -> !line.isEmpty()).toList();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Scans the package for concrete implementations of the type
+     */
+    static <T> List<Class<? extends T>> scan(Class<T> type, String pack) {
+        return new Reflections(pack).getSubTypesOf(type).stream()
+                .filter(ClassIndex::isInstantiable)
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .toList();
+    }
+
+    private static boolean isInstantiable(Class<?> clazz) {
+        return !clazz.isInterface() && !clazz.isRecord() && !clazz.isEnum() && !Modifier.isAbstract(clazz.getModifiers());
+    }
+}
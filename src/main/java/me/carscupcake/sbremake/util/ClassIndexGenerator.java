@@ -0,0 +1,25 @@
+package me.carscupcake.sbremake.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes the {@link ClassIndex}. This is run by the generateClassIndex gradle task after compiling,
+ * the first argument is the directory the index gets written to.
+ */
+public class ClassIndexGenerator {
+    private static final String ROOT_PACKAGE = "me.carscupcake.sbremake";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) throw new IllegalArgumentException("Usage: ClassIndexGenerator <output directory>");
+        Path directory = Path.of(args[0]).resolve(ClassIndex.INDEX_PATH);
+        Files.createDirectories(directory);
+        for (Class<?> type : ClassIndex.INDEXED_TYPES) {
+            List<String> names = ClassIndex.scan(type, ROOT_PACKAGE).stream().map(Class::getName).toList();
+            Files.write(directory.resolve(type.getName()), names);
+            System.out.println("Indexed " + names.size() + " implementations of " + type.getSimpleName());
+        }
+    }
+}
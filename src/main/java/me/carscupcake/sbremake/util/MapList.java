@@ -17,6 +17,7 @@ public class MapList<T, K> extends HashMap<T, List<K>> {
 
     public void removeFromList(T key, K value) {
         List<K> ks = super.get(key);
+        if (ks == null) return;
         ks.remove(value);
         if (ks.isEmpty()) super.remove(key);
         else super.put(key, ks);
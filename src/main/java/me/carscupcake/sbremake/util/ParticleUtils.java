@@ -1,29 +1,101 @@
 package me.carscupcake.sbremake.util;
 
+import me.carscupcake.sbremake.Main;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.network.packet.server.SendablePacket;
 import net.minestom.server.network.packet.server.play.ParticlePacket;
 import net.minestom.server.particle.Particle;
+import net.minestom.server.timer.ExecutionType;
+import net.minestom.server.timer.TaskSchedule;
 
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Spawns particles for the players that have the chunk of the particle loaded. The particles of a tick are collected
+ * and sent at the end of the tick: equal particles at the same spot are merged into one packet with their counts
+ * added up, every player gets all of their particles at once, and at most {@link #BUDGET_PER_TICK} particle packets
+ * per tick. Particles over the budget are dropped.
+ */
 public class ParticleUtils {
-    private static final int RENDER_DISTANCE = (8 * 16) * (8 * 16);
+    public static final int BUDGET_PER_TICK = 256;
+    private static final Map<Spawn, Pending> pending = new LinkedHashMap<>();
+
+    static {
+        MinecraftServer.getSchedulerManager().buildTask(ParticleUtils::flush).repeat(TaskSchedule.tick(1)).executionType(ExecutionType.TICK_END).schedule();
+    }
+
+    /**
+     * The chunk is part of the key, so equal particles at the same spot of two instances stay apart
+     */
+    private record Spawn(Chunk chunk, Particle particle, double x, double y, double z, double offsetX, double offsetY,
+                         double offsetZ, float speed) {
+    }
+
+    private static final class Pending {
+        private int count;
+    }
 
     public static void spawnParticle(Instance instance, Point point, Particle particle, int count) {
-        ParticlePacket packet = new ParticlePacket(particle, point, Pos.ZERO, 0, count);
-        for (Player player : instance.getPlayers()) {
-            if (player.getPosition().distanceSquared(point) > RENDER_DISTANCE) continue;
-            player.sendPacket(packet);
-        }
+        spawnParticle(instance, point, particle, count, Pos.ZERO, 0);
     }
 
     public static void spawnParticle(Instance instance, Point point, Particle particle, int count, Vec velocity, float speed) {
-        ParticlePacket packet = new ParticlePacket(particle, point, velocity, speed, count);
-        for (Player player : instance.getPlayers()) {
-            if (player.getPosition().distance(point) > RENDER_DISTANCE) continue;
-            player.sendPacket(packet);
+        spawnParticle(instance, point, particle, count, (Point) velocity, speed);
+    }
+
+    private static void spawnParticle(Instance instance, Point point, Particle particle, int count, Point offset, float speed) {
+        Chunk chunk = instance.getChunkAt(point);
+        if (chunk == null || chunk.getViewers().isEmpty()) return;
+        queue(chunk, point, particle, count, offset, speed);
+    }
+
+    static void queue(Chunk chunk, Point point, Particle particle, int count, Point offset, float speed) {
+        Spawn spawn = new Spawn(chunk, particle, point.x(), point.y(), point.z(), offset.x(), offset.y(), offset.z(), speed);
+        synchronized (pending) {
+            pending.computeIfAbsent(spawn, ignored -> new Pending()).count += count;
+        }
+    }
+
+    /**
+     * Takes the particles queued so far and merges them into the packets of every viewer, at most
+     * {@link #BUDGET_PER_TICK} per viewer
+     *
+     * @param viewers the viewers of a chunk
+     */
+    static <V> Map<V, List<SendablePacket>> drain(Function<Chunk, ? extends Collection<V>> viewers) {
+        List<Map.Entry<Spawn, Pending>> spawns;
+        synchronized (pending) {
+            if (pending.isEmpty()) return Map.of();
+            spawns = new ArrayList<>(pending.entrySet());
+            pending.clear();
+        }
+        Map<V, List<SendablePacket>> packets = new HashMap<>();
+        for (Map.Entry<Spawn, Pending> entry : spawns) {
+            Spawn spawn = entry.getKey();
+            ParticlePacket packet = new ParticlePacket(spawn.particle(), new Vec(spawn.x(), spawn.y(), spawn.z()),
+                    new Vec(spawn.offsetX(), spawn.offsetY(), spawn.offsetZ()), spawn.speed(), entry.getValue().count);
+            for (V viewer : viewers.apply(spawn.chunk())) {
+                List<SendablePacket> viewerPackets = packets.computeIfAbsent(viewer, ignored -> new ArrayList<>());
+                if (viewerPackets.size() < BUDGET_PER_TICK) viewerPackets.add(packet);
+            }
+        }
+        return packets;
+    }
+
+    private static void flush() {
+        for (Map.Entry<Player, List<SendablePacket>> entry : drain(Chunk::getViewers).entrySet()) {
+            try {
+                entry.getKey().sendPackets(entry.getValue());
+            } catch (Exception e) {
+                Main.LOGGER.warn("Could not send particles to {}", entry.getKey().getUsername(), e);
+            }
         }
     }
 }
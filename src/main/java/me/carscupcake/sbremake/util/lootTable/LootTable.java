@@ -23,6 +23,17 @@ public class LootTable<T> implements ILootTable<T> {
         return addLoot(new LootTableLoot<>(loot, chance, true));
     }
 
+    public List<Loot<T>> getLoot() {
+        return Collections.unmodifiableList(loot);
+    }
+
+    /**
+     * @return true if every roll drops exactly one loot, picked by the chances as weights
+     */
+    public boolean isSingleLoot() {
+        return singleLoot;
+    }
+
     public Set<T> loot(SkyblockPlayer player) {
         Set<T> set = new HashSet<>();
         Random r = new Random();
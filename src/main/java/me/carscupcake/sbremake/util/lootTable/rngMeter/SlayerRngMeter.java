@@ -2,7 +2,6 @@ package me.carscupcake.sbremake.util.lootTable.rngMeter;
 
 import lombok.Getter;
 import lombok.Setter;
-import me.carscupcake.sbremake.config.ConfigFile;
 import me.carscupcake.sbremake.config.ConfigSection;
 import me.carscupcake.sbremake.entity.slayer.ISlayer;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
@@ -25,7 +24,7 @@ public class SlayerRngMeter {
         this.slayer = slayer;
         this.lootTableChances = lootTableChances;
         lootTableGoals = lootTableGoal;
-        ConfigFile file = new ConfigFile("rngmeters", player);
+        ConfigSection file = player.getProfile().readSection("rngmeters");
         rngMeterXp = file.get(slayer.getId(), ConfigSection.DOUBLE, 0d);
         String selected = file.get((slayer.getId()) + "_SELECTED", ConfigSection.STRING);
         if (selected != null) {
@@ -37,11 +36,12 @@ public class SlayerRngMeter {
         }
     }
 
-    public void save() {
-        ConfigFile file = new ConfigFile("rngmeters", player);
+    /**
+     * @param file the rng meter section of the profile, shared by the meters of every slayer
+     */
+    public void save(ConfigSection file) {
         file.set(slayer.getId(), rngMeterXp, ConfigSection.DOUBLE);
         file.set((slayer.getId()) + "_SELECTED", selected == null ? null : selected.id(), ConfigSection.STRING);
-        file.save();
     }
 
     public double calculateWeight(RngMeterLoot loot, double weight) {
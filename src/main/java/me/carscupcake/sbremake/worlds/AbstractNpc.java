@@ -7,11 +7,15 @@ import me.carscupcake.sbremake.util.quest.Dialog;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.instance.Instance;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 public abstract class AbstractNpc {
-    public static final HashMap<Integer, AbstractNpc> npcs = new HashMap<>();
+    /**
+     * The npcs of all loaded worlds by their entity id. Npcs are only sent as packets, so they are not in the {@link EntityIndex}
+     */
+    public static final Map<Integer, AbstractNpc> npcs = new ConcurrentHashMap<>();
     private final String name;
     private final Pos pos;
     private final Instance instance;
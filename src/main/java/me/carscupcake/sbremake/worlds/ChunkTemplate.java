@@ -0,0 +1,132 @@
+package me.carscupcake.sbremake.worlds;
+
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.util.Pair;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.LightingChunk;
+import net.minestom.server.instance.anvil.AnvilLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The loaded and lit chunks of a world type, shared read-only by every instance of that type.
+ * Instances get {@link CopyOnWriteChunk}s that reference the template sections, so N hubs cost about one hub plus the
+ * sections that got changed (mined ores, regenerating blocks).
+ * The template is built from the polar world if there is one (see {@link PolarWorlds}), otherwise from the anvil world.
+ */
+public class ChunkTemplate {
+    /**
+     * The template of every world type, or its build if it is still running. Built outside of the map, so a slow build
+     * does not block other world types
+     */
+    private static final Map<SkyblockWorld, CompletableFuture<ChunkTemplate>> templates = new ConcurrentHashMap<>();
+
+    private final Map<Long, CopyOnWriteChunk> chunks;
+
+    private ChunkTemplate(Map<Long, CopyOnWriteChunk> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * @param provider a provider of the world type, the template is built from its chunk area the first time. Other
+     *                 callers wait for that build, a failed build is tried again by the next caller
+     * @return the template of the world type
+     */
+    public static ChunkTemplate get(SkyblockWorld.WorldProvider provider) throws IOException {
+        SkyblockWorld world = provider.type();
+        CompletableFuture<ChunkTemplate> future = templates.get(world);
+        if (future == null) {
+            CompletableFuture<ChunkTemplate> building = new CompletableFuture<>();
+            future = templates.putIfAbsent(world, building);
+            if (future == null) {
+                future = building;
+                try {
+                    building.complete(build(provider));
+                } catch (Throwable t) {
+                    templates.remove(world, building);
+                    building.completeExceptionally(t);
+                }
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the template, instances that are running keep their chunks. The next instance builds a new template
+     */
+    public static void invalidate(SkyblockWorld world) {
+        templates.remove(world);
+    }
+
+    private static ChunkTemplate build(SkyblockWorld.WorldProvider provider) throws IOException {
+        SkyblockWorld world = provider.type();
+        long start = System.currentTimeMillis();
+        IChunkLoader source = PolarWorlds.getLoader(world);
+        boolean lit = source != null;
+        if (source == null) source = new AnvilLoader(world.updateFiles().toPath());
+
+        InstanceContainer container = MinecraftServer.getInstanceManager().createInstanceContainer(world.getDimension());
+        Map<Long, CopyOnWriteChunk> chunks = new HashMap<>();
+        try {
+            container.setChunkSupplier(CopyOnWriteChunk::new);
+            container.setChunkLoader(source);
+            Pair<Pos, Pos> span = provider.getChunksToLoad();
+            List<CompletableFuture<Chunk>> loading = new ArrayList<>();
+            for (int chunkX = span.getFirst().chunkX(); chunkX <= span.getSecond().chunkX(); chunkX++)
+                for (int chunkZ = span.getFirst().chunkZ(); chunkZ <= span.getSecond().chunkZ(); chunkZ++)
+                    loading.add(container.loadChunk(chunkX, chunkZ));
+            CompletableFuture.allOf(loading.toArray(CompletableFuture[]::new)).join();
+            if (!lit) LightingChunk.relight(container, container.getChunks());
+            for (Chunk chunk : container.getChunks())
+                chunks.put(index(chunk.getChunkX(), chunk.getChunkZ()), (CopyOnWriteChunk) chunk);
+        } finally {
+            MinecraftServer.getInstanceManager().unregisterInstance(container);
+        }
+        Main.LOGGER.info("Built the chunk template of {} ({} chunks) in {}ms", world.getId(), chunks.size(), System.currentTimeMillis() - start);
+        return new ChunkTemplate(Map.copyOf(chunks));
+    }
+
+    private static long index(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return a loader creating chunks that share their sections with this template
+     */
+    public IChunkLoader loader() {
+        return new IChunkLoader() {
+            @Override
+            public @Nullable Chunk loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+                CopyOnWriteChunk template = chunks.get(index(chunkX, chunkZ));
+                if (template == null) return null;
+                return new CopyOnWriteChunk(instance, chunkX, chunkZ, template);
+            }
+
+            @Override
+            public void saveChunk(@NotNull Chunk chunk) {
+                //NOOP
+            }
+        };
+    }
+}
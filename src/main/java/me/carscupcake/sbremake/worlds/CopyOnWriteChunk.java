@@ -0,0 +1,112 @@
+package me.carscupcake.sbremake.worlds;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.LightingChunk;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.registry.RegistryKey;
+import net.minestom.server.world.biome.Biome;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * A chunk that starts out referencing the sections of a {@link ChunkTemplate} chunk.
+ * A section only gets copied once a block or biome in it changes, so every instance of a world shares the unchanged
+ * sections. {@link #getSection(int)} hands out shared sections, code writing into a section directly has to use
+ * {@link #getWritableSection(int)}.
+ * <p>
+ * The light of shared sections is never recalculated, it was calculated once for the template. A block change
+ * recalculates the light of the sections around it, so these get copied first, in this chunk and in the neighbouring
+ * ones.
+ */
+public class CopyOnWriteChunk extends LightingChunk {
+    /**
+     * Which sections are copies owned by this chunk, null if every section is owned (template chunks)
+     */
+    private final boolean[] owned;
+
+    public CopyOnWriteChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        super(instance, chunkX, chunkZ);
+        this.owned = null;
+    }
+
+    CopyOnWriteChunk(@NotNull Instance instance, int chunkX, int chunkZ, CopyOnWriteChunk template) {
+        super(instance, chunkX, chunkZ);
+        this.sections = new ArrayList<>(template.sections);
+        this.owned = new boolean[sections.size()];
+        this.entries.putAll(template.entries);
+        this.tickableMap.putAll(template.tickableMap);
+        // Relighting would write into the shared sections, it is only allowed while setting a block
+        setFreezeInvalidation(true);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, @NotNull Block block, @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy) {
+        if (owned == null) {
+            super.setBlock(x, y, z, block, placement, destroy);
+            return;
+        }
+        // The block change invalidates the light of the sections next to it, in this chunk and the neighbouring ones
+        int sectionY = y >> 4;
+        for (int chunkOffsetX = -1; chunkOffsetX <= 1; chunkOffsetX++)
+            for (int chunkOffsetZ = -1; chunkOffsetZ <= 1; chunkOffsetZ++) {
+                Chunk chunk = chunkOffsetX == 0 && chunkOffsetZ == 0 ? this : instance.getChunk(chunkX + chunkOffsetX, chunkZ + chunkOffsetZ);
+                if (!(chunk instanceof CopyOnWriteChunk copyOnWrite)) continue;
+                for (int sectionOffset = -1; sectionOffset <= 1; sectionOffset++)
+                    copyOnWrite.own(sectionY + sectionOffset);
+            }
+        setFreezeInvalidation(false);
+        try {
+            super.setBlock(x, y, z, block, placement, destroy);
+        } finally {
+            setFreezeInvalidation(true);
+        }
+    }
+
+    @Override
+    public void setBiome(int x, int y, int z, @NotNull RegistryKey<Biome> biome) {
+        own(y >> 4);
+        super.setBiome(x, y, z, biome);
+    }
+
+    @Override
+    public void reset() {
+        for (int sectionY = minSection; sectionY < maxSection; sectionY++)
+            own(sectionY);
+        super.reset();
+    }
+
+    /**
+     * @return the section, copied first if it is still shared with the template
+     */
+    public Section getWritableSection(int sectionY) {
+        own(sectionY);
+        return getSection(sectionY);
+    }
+
+    /**
+     * Replaces the section with a copy if it is still shared with the template
+     */
+    private synchronized void own(int sectionY) {
+        if (owned == null) return;
+        int index = sectionY - minSection;
+        if (index < 0 || index >= owned.length || owned[index]) return;
+        sections.set(index, sections.get(index).clone());
+        owned[index] = true;
+    }
+
+    /**
+     * @return the amount of sections that got copied from the template
+     */
+    public int getOwnedSectionCount() {
+        if (owned == null) return sections.size();
+        int count = 0;
+        for (boolean b : owned)
+            if (b) count++;
+        return count;
+    }
+}
@@ -0,0 +1,50 @@
+package me.carscupcake.sbremake.worlds;
+
+import net.minestom.server.entity.Entity;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.instance.AddEntityToInstanceEvent;
+import net.minestom.server.event.instance.InstanceUnregisterEvent;
+import net.minestom.server.event.instance.RemoveEntityFromInstanceEvent;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The entities of every instance by their entity id, so packet listeners can find an entity without going over
+ * every entity of the instance. Kept up to date by {@link #LISTENER} and safe to read from any thread.
+ */
+public class EntityIndex {
+    private static final Map<Instance, Map<Integer, Entity>> entities = new ConcurrentHashMap<>();
+
+    public static final EventNode<Event> LISTENER = EventNode.all("entity-index")
+            .addListener(AddEntityToInstanceEvent.class, event -> entities.computeIfAbsent(event.getInstance(), ignored -> new ConcurrentHashMap<>())
+                    .put(event.getEntity().getEntityId(), event.getEntity()))
+            .addListener(RemoveEntityFromInstanceEvent.class, event -> {
+                Map<Integer, Entity> byId = entities.get(event.getInstance());
+                if (byId != null) byId.remove(event.getEntity().getEntityId(), event.getEntity());
+            })
+            .addListener(InstanceUnregisterEvent.class, event -> entities.remove(event.getInstance()));
+
+    /**
+     * @return the entity with the id in the instance, or null if there is none
+     */
+    public static @Nullable Entity get(Instance instance, int entityId) {
+        Map<Integer, Entity> byId = entities.get(instance);
+        if (byId == null) return null;
+        Entity entity = byId.get(entityId);
+        // The add event can be cancelled after it got indexed
+        if (entity == null || entity.isRemoved() || entity.getInstance() != instance) return null;
+        return entity;
+    }
+
+    /**
+     * @return the amount of indexed entities in the instance
+     */
+    public static int size(Instance instance) {
+        Map<Integer, Entity> byId = entities.get(instance);
+        return byId == null ? 0 : byId.size();
+    }
+}
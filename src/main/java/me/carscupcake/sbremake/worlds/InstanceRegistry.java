@@ -0,0 +1,114 @@
+package me.carscupcake.sbremake.worlds;
+
+import me.carscupcake.sbremake.Main;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.instance.InstanceUnregisterEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One object per instance, created on first use. A single repeating task ticks the objects of every instance and only
+ * runs while there are any. When an instance gets unregistered, {@link #LISTENER} stops its objects of every registry
+ * while its chunks are still loaded.
+ * <p>
+ * Instances that are not registered with the instance manager get an object that is neither kept nor ticked, so late
+ * calls for a removed instance do not keep it in memory. Objects of instances that got unregistered anyway are stopped
+ * on the next tick.
+ */
+public class InstanceRegistry<T> {
+    private static final List<InstanceRegistry<?>> registries = new CopyOnWriteArrayList<>();
+
+    public static final EventNode<Event> LISTENER = EventNode.all("instance-registry")
+            .addListener(InstanceUnregisterEvent.class, event -> {
+                for (InstanceRegistry<?> registry : registries)
+                    registry.stop(event.getInstance());
+            });
+
+    private final String name;
+    private final Map<Instance, T> values = new ConcurrentHashMap<>();
+    private final Function<Instance, T> factory;
+    private final Consumer<T> tick;
+    private final Consumer<T> stop;
+    private @Nullable Task task;
+
+    /**
+     * @param name    what the objects are, for the log
+     * @param factory creates the object of an instance
+     * @param tick    called every tick for every object
+     * @param stop    called once the instance is unregistered, after the object stopped ticking
+     */
+    public InstanceRegistry(String name, Function<Instance, T> factory, Consumer<T> tick, Consumer<T> stop) {
+        this.name = name;
+        this.factory = factory;
+        this.tick = tick;
+        this.stop = stop;
+        registries.add(this);
+    }
+
+    public InstanceRegistry(String name, Function<Instance, T> factory, Consumer<T> tick) {
+        this(name, factory, tick, ignored -> {
+        });
+    }
+
+    public T get(Instance instance) {
+        T value = values.get(instance);
+        if (value != null) return value;
+        if (!instance.isRegistered()) return factory.apply(instance);
+        synchronized (this) {
+            value = values.computeIfAbsent(instance, factory);
+            if (task == null)
+                task = MinecraftServer.getSchedulerManager().buildTask(this::tick).repeat(TaskSchedule.tick(1)).schedule();
+            return value;
+        }
+    }
+
+    /**
+     * Removes and stops the object of the instance, if it has one
+     */
+    public void stop(Instance instance) {
+        T value;
+        synchronized (this) {
+            value = values.remove(instance);
+            if (value == null) return;
+            if (values.isEmpty() && task != null) {
+                task.cancel();
+                task = null;
+            }
+        }
+        stop.accept(value);
+    }
+
+    public Collection<T> values() {
+        return Collections.unmodifiableCollection(values.values());
+    }
+
+    /**
+     * Errors are logged per object, so one instance does not stop the others
+     */
+    private void tick() {
+        for (Map.Entry<Instance, T> entry : values.entrySet()) {
+            if (!entry.getKey().isRegistered()) {
+                stop(entry.getKey());
+                continue;
+            }
+            try {
+                tick.accept(entry.getValue());
+            } catch (Exception e) {
+                Main.LOGGER.warn("Could not tick the {} of {}", name, entry.getKey().getUuid(), e);
+            }
+        }
+    }
+}
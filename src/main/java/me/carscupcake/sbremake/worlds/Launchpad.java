@@ -3,6 +3,8 @@ package me.carscupcake.sbremake.worlds;
 import com.google.common.util.concurrent.Futures;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import me.carscupcake.sbremake.util.TaskScheduler;
+import me.carscupcake.sbremake.worlds.region.MoveTrigger;
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.EntityType;
@@ -11,7 +13,7 @@ import net.minestom.server.instance.block.Block;
 
 import java.util.concurrent.Future;
 
-public record Launchpad(int x1, int z1, int x2, int z2, int y, SkyblockWorld targetWorld, Pos targetPos) {
+public record Launchpad(int x1, int z1, int x2, int z2, int y, SkyblockWorld targetWorld, Pos targetPos) implements MoveTrigger {
     public void launch(SkyblockPlayer player) {
         LivingEntity entity = new LivingEntity(EntityType.ARMOR_STAND);
         entity.setInvisible(true);
@@ -64,14 +66,23 @@ public record Launchpad(int x1, int z1, int x2, int z2, int y, SkyblockWorld tar
         }.repeatTaskAsync(0, 1);
     }
 
-    public boolean inBox(SkyblockPlayer player) {
+    @Override
+    public BoundingBox bounds() {
+        return BoundingBox.fromPoints(new Vec(Math.min(x1, x2), y + 1, Math.min(z1, z2)), new Vec(Math.max(x1, x2) + 1, y + 2, Math.max(z1, z2) + 1));
+    }
+
+    @Override
+    public void onMove(SkyblockPlayer player, Pos pos, boolean onGround) {
+        if (inBox(player, pos, onGround)) launch(player);
+    }
+
+    public boolean inBox(SkyblockPlayer player, Pos pos, boolean onGround) {
         int minX = Math.min(x1, x2);
         int maxX = Math.max(x1, x2);
         int minZ = Math.min(z1, z2);
         int maxZ = Math.max(z1, z2);
-        Pos pos = player.getPosition();
-        if (pos.blockX() >= minX && pos.blockX() <= maxX && pos.blockY() == y + 1 && pos.blockZ() >= minZ && pos.blockZ() <= maxZ && player.isOnGround() && !player.isOnLaunchpad()) {
-            return player.getInstance().getBlock(player.getPosition().sub(0, 1, 0)) == Block.SLIME_BLOCK;
+        if (pos.blockX() >= minX && pos.blockX() <= maxX && pos.blockY() == y + 1 && pos.blockZ() >= minZ && pos.blockZ() <= maxZ && onGround && !player.isOnLaunchpad()) {
+            return player.getInstance().getBlock(pos.sub(0, 1, 0)) == Block.SLIME_BLOCK;
         }
         return false;
     }
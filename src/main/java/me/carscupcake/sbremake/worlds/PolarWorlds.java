@@ -0,0 +1,100 @@
+package me.carscupcake.sbremake.worlds;
+
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.util.Pair;
+import net.hollowcube.polar.AnvilPolar;
+import net.hollowcube.polar.PolarLoader;
+import net.hollowcube.polar.PolarReader;
+import net.hollowcube.polar.PolarWorld;
+import net.hollowcube.polar.PolarWriter;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.LightingChunk;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-baked worlds in the polar format, stored next to the anvil world as {@code worlds/<id>.polar}.
+ * A polar world only contains the chunks of {@link SkyblockWorld.WorldProvider#getChunksToLoad()} and already has its light
+ * calculated, so starting an instance from it does not need an anvil parse or a relight.
+ * Instances do not load it directly, it is the source of the {@link ChunkTemplate} of the world.
+ */
+public class PolarWorlds {
+    private static final Map<SkyblockWorld, PolarWorld> loaded = new ConcurrentHashMap<>();
+
+    public static File getPolarFile(SkyblockWorld world) {
+        return new File("./worlds/" + (world.getId()) + ".polar");
+    }
+
+    public static boolean isAvailable(SkyblockWorld world) {
+        return loaded.containsKey(world) || getPolarFile(world).exists();
+    }
+
+    /**
+     * @return a loader for the pre-baked world, or null if the world was not converted
+     */
+    public static IChunkLoader getLoader(SkyblockWorld world) throws IOException {
+        PolarWorld polarWorld = loaded.get(world);
+        if (polarWorld == null) {
+            File file = getPolarFile(world);
+            if (!file.exists()) return null;
+            polarWorld = loaded.computeIfAbsent(world, ignored -> {
+                try {
+                    return PolarReader.read(Files.readAllBytes(file.toPath()));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        return new PolarLoader(polarWorld);
+    }
+
+    /**
+     * Converts the anvil world of the provider into a polar file. The chunks are loaded into a temporary instance,
+     * relit and then written with their light.
+     *
+     * @param provider a not loaded provider of the world, it is only used for the chunk area
+     * @return the written file
+     */
+    public static File convert(SkyblockWorld.WorldProvider provider) throws IOException {
+        SkyblockWorld world = provider.type();
+        Pair<Pos, Pos> span = provider.getChunksToLoad();
+        int minX = span.getFirst().chunkX(), minZ = span.getFirst().chunkZ();
+        int maxX = span.getSecond().chunkX(), maxZ = span.getSecond().chunkZ();
+        long start = System.currentTimeMillis();
+        PolarWorld polarWorld = AnvilPolar.anvilToPolar(world.updateFiles().toPath(), (x, z) -> x >= minX && x <= maxX && z >= minZ && z <= maxZ);
+
+        InstanceContainer container = MinecraftServer.getInstanceManager().createInstanceContainer(world.getDimension());
+        try {
+            container.setChunkSupplier(LightingChunk::new);
+            container.setChunkLoader(new PolarLoader(polarWorld));
+            List<CompletableFuture<Chunk>> chunks = new ArrayList<>();
+            for (int chunkX = minX; chunkX <= maxX; chunkX++)
+                for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++)
+                    chunks.add(container.loadChunk(chunkX, chunkZ));
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+            LightingChunk.relight(container, container.getChunks());
+            // Writes the blocks and the calculated light back into the polar world
+            container.saveChunksToStorage().join();
+        } finally {
+            MinecraftServer.getInstanceManager().unregisterInstance(container);
+        }
+
+        File file = getPolarFile(world);
+        Files.write(file.toPath(), PolarWriter.write(polarWorld));
+        loaded.put(world, polarWorld);
+        ChunkTemplate.invalidate(world);
+        Main.LOGGER.info("Converted {} into {} ({} chunks) in {}ms", world.getId(), file.getName(), polarWorld.chunks().size(), System.currentTimeMillis() - start);
+        return file;
+    }
+}
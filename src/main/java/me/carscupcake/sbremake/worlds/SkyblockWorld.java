@@ -19,6 +19,8 @@ import me.carscupcake.sbremake.util.Pair;
 import me.carscupcake.sbremake.util.Returnable;
 import me.carscupcake.sbremake.util.item.ItemBuilder;
 import me.carscupcake.sbremake.worlds.impl.*;
+import me.carscupcake.sbremake.worlds.region.MoveTrigger;
+import me.carscupcake.sbremake.worlds.region.MoveTriggerIndex;
 import me.carscupcake.sbremake.worlds.region.Region;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
@@ -354,12 +356,17 @@ public enum SkyblockWorld implements Returnable<SkyblockWorld.WorldProvider>, Wo
     @Getter
     public static abstract class WorldProvider {
         private boolean isRelight;
+        /**
+         * If the chunks are shared with the {@link ChunkTemplate} of the world
+         */
+        private boolean sharedChunks;
         private static final MiningBlock[] VANILLA_ORES = {new Stone(), new Cobblestone(), new CoalOre(), new IronOre(), new GoldOre(), new LapisLazuliOre(), new RedstoneOre(), new EmeraldOre(), new DiamondBlock(), new DiamondOre()};
 
         private final Set<SkyblockPlayer> players = Collections.synchronizedSet(new HashSet<>());
         private final String id;
         protected AbstractNpc[] npcs;
         private final List<Launchpad> launchpads;
+        private volatile MoveTriggerIndex moveTriggerIndex;
         private boolean loaded = false;
         public List<Runnable> onStart = new ArrayList<>();
         protected HashMap<SkyblockWorld, Pos> customEntry = new HashMap<>();
@@ -368,6 +375,8 @@ public enum SkyblockWorld implements Returnable<SkyblockWorld.WorldProvider>, Wo
 
         public void relight() {
             isRelight = true;
+            // Relighting would write into the template sections of the other instances
+            if (sharedChunks) return;
             LightingChunk.relight(container, container.getChunks());
             System.gc();
         }
@@ -383,6 +392,12 @@ public enum SkyblockWorld implements Returnable<SkyblockWorld.WorldProvider>, Wo
         }
 
         public IChunkLoader getChunkLoader() throws IOException {
+            if (!(this instanceof PrivateIsle)) {
+                // The chunks are shared with the other instances of the world and already lit
+                isRelight = true;
+                sharedChunks = true;
+                return ChunkTemplate.get(this).loader();
+            }
             File f = type().updateFiles();
             if (this instanceof PrivateIsle pI)
                 f = pI.findWorldFolder();
@@ -477,6 +492,14 @@ public enum SkyblockWorld implements Returnable<SkyblockWorld.WorldProvider>, Wo
             init(container, null);
         }
 
+        /**
+         * @return whether the world shows up in {@link #getWorlds(SkyblockWorld)} once it is loaded. Worlds that are
+         * loaded ahead of time add themselves once they get used
+         */
+        protected boolean listOnLoad() {
+            return true;
+        }
+
         public boolean useCustomMining() {
             return true;
         }
@@ -510,7 +533,8 @@ public enum SkyblockWorld implements Returnable<SkyblockWorld.WorldProvider>, Wo
                     }
                 if (async) CompletableFuture.runAsync(() -> {
                     CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
-                    MinecraftServer.getSchedulerManager().buildTask(() -> LightingChunk.relight(container, container.getChunks())).delay(Duration.ofSeconds(1)).schedule();
+                    if (!isRelight)
+                        MinecraftServer.getSchedulerManager().buildTask(() -> LightingChunk.relight(container, container.getChunks())).delay(Duration.ofSeconds(1)).schedule();
                     MinecraftServer.getSchedulerManager().buildTask(System::gc).delay(Duration.ofSeconds(2)).schedule();
                     synchronized (_lock) {
                         loaded = true;
@@ -521,14 +545,15 @@ public enum SkyblockWorld implements Returnable<SkyblockWorld.WorldProvider>, Wo
                 });
                 else {
                     CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
-                    MinecraftServer.getSchedulerManager().buildTask(() -> LightingChunk.relight(container, container.getChunks())).delay(Duration.ofSeconds(1)).schedule();
+                    if (!isRelight)
+                        MinecraftServer.getSchedulerManager().buildTask(() -> LightingChunk.relight(container, container.getChunks())).delay(Duration.ofSeconds(1)).schedule();
                     MinecraftServer.getSchedulerManager().buildTask(System::gc).delay(Duration.ofSeconds(2)).schedule();
                     Main.LOGGER.debug("Relighting {} Chunks", container.getChunks().size());
                     loaded = true;
                     register();
                     container.setTime(Time.tick);
                 }
-                addWorld(this);
+                if (listOnLoad()) addWorld(this);
                 if (!async)
                     synchronized (_lock) {
                         for (Runnable runnable : onStart) runnable.run();
@@ -570,6 +595,8 @@ public enum SkyblockWorld implements Returnable<SkyblockWorld.WorldProvider>, Wo
                 player.kick("§cInstance is shutting down!");
             container.getEntities().forEach(Entity::remove);
             unregister();
+            for (AbstractNpc npc : npcs)
+                AbstractNpc.npcs.remove(npc.getEntityId(), npc);
             for (Chunk c : container.getChunks())
                 container.getChunkLoader().unloadChunk(c);
             MinecraftServer.getInstanceManager().unregisterInstance(container);
@@ -629,10 +656,17 @@ public enum SkyblockWorld implements Returnable<SkyblockWorld.WorldProvider>, Wo
             for (AbstractNpc npc : npcs) ids.add(npc.getEntityId());
             player.sendPacket(new DestroyEntitiesPacket(ids));
             if (players.isEmpty()) {
-                shutdownTask = MinecraftServer.getSchedulerManager().buildTask(this::remove).delay(Duration.ofMinutes(5)).schedule();
+                shutdownTask = MinecraftServer.getSchedulerManager().buildTask(this::onEmpty).delay(Duration.ofMinutes(5)).schedule();
             }
         }
 
+        /**
+         * Runs once the world had no players for 5 minutes, removes the world by default
+         */
+        protected void onEmpty() {
+            remove();
+        }
+
         public boolean onPlayerAdd(SkyblockPlayer player) {
             return true;
         }
@@ -640,6 +674,22 @@ public enum SkyblockWorld implements Returnable<SkyblockWorld.WorldProvider>, Wo
         public abstract Pos spawn();
 
         public abstract Region[] regions();
+
+        /**
+         * @return the triggers of the world that fire when a player moves into them, the launchpads by default
+         */
+        protected List<MoveTrigger> moveTriggers() {
+            return new ArrayList<>(launchpads);
+        }
+
+        /**
+         * @return the index of the regions and move triggers, built on first use
+         */
+        public MoveTriggerIndex getMoveTriggers() {
+            MoveTriggerIndex index = moveTriggerIndex;
+            if (index == null) moveTriggerIndex = index = new MoveTriggerIndex(regions(), moveTriggers());
+            return index;
+        }
     }
 
     public static Map<InputStream, String> extract(String filePath) throws IOException {
@@ -145,6 +145,11 @@ public class DeepCaverns extends SkyblockWorld.WorldProvider {
             return wrapped.isInRegion(pos);
         }
 
+        @Override
+        public BoundingBox bounds() {
+            return wrapped.bounds();
+        }
+
         @Override
         public String toString() {
             return wrapped.name();
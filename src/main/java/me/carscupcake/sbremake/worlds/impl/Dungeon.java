@@ -1,22 +1,35 @@
 package me.carscupcake.sbremake.worlds.impl;
 
+import lombok.Getter;
 import me.carscupcake.sbremake.util.Pair;
 import me.carscupcake.sbremake.worlds.SkyblockWorld;
+import me.carscupcake.sbremake.worlds.impl.dungeon.DungeonChunk;
+import me.carscupcake.sbremake.worlds.impl.dungeon.DungeonPool;
 import me.carscupcake.sbremake.worlds.impl.dungeon.DungeonWorldProvider;
 import me.carscupcake.sbremake.worlds.impl.dungeon.Generator;
 import me.carscupcake.sbremake.worlds.impl.dungeon.Paster;
 import me.carscupcake.sbremake.worlds.impl.dungeon.Room;
 import me.carscupcake.sbremake.worlds.region.Region;
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.IChunkLoader;
 import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.LightingChunk;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 public class Dungeon extends SkyblockWorld.WorldProvider {
 
+    @Getter
     private final Generator generator;
+    private DungeonWorldProvider loader;
 
     public Dungeon(Generator generator) {
         this.generator = generator;
@@ -29,7 +42,56 @@ public class Dungeon extends SkyblockWorld.WorldProvider {
 
     @Override
     public IChunkLoader getChunkLoader() throws IOException {
-        return new DungeonWorldProvider(generator, new String[6][6]);
+        loader = new DungeonWorldProvider(generator, new String[6][6]);
+        return loader;
+    }
+
+    /**
+     * Pooled dungeons are listed once {@link DungeonPool#acquire()} hands them out
+     */
+    @Override
+    protected boolean listOnLoad() {
+        return false;
+    }
+
+    @Override
+    protected void onEmpty() {
+        DungeonPool.recycle(this);
+    }
+
+    /**
+     * Removes the entities of the finished run and generates the chunks that changed during it again. The entities
+     * and chunks are changed in the next tick of the instance, this waits for it, so it must not be called on the tick
+     * thread.
+     *
+     * @return the amount of regenerated chunks
+     */
+    public int reset() {
+        var container = getContainer();
+        CompletableFuture<List<CompletableFuture<Chunk>>> scheduled = new CompletableFuture<>();
+        container.scheduleNextTick(ignored -> {
+            try {
+                for (Entity entity : container.getEntities())
+                    if (!(entity instanceof Player)) entity.remove();
+                List<Chunk> changed = new ArrayList<>();
+                for (Chunk chunk : container.getChunks())
+                    if (chunk instanceof DungeonChunk dungeonChunk && dungeonChunk.isChanged()) changed.add(chunk);
+                List<CompletableFuture<Chunk>> reloading = new ArrayList<>();
+                for (Chunk chunk : changed) {
+                    loader.reset(chunk.getChunkX(), chunk.getChunkZ());
+                    container.unloadChunk(chunk);
+                    reloading.add(container.loadChunk(chunk.getChunkX(), chunk.getChunkZ()));
+                }
+                scheduled.complete(reloading);
+            } catch (Throwable t) {
+                scheduled.completeExceptionally(t);
+            }
+        });
+        List<CompletableFuture<Chunk>> reloading = scheduled.join();
+        CompletableFuture.allOf(reloading.toArray(CompletableFuture[]::new)).join();
+        if (!reloading.isEmpty())
+            LightingChunk.relight(container, reloading.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList());
+        return reloading.size();
     }
 
     @Override
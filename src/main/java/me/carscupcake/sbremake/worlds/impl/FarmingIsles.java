@@ -133,6 +133,11 @@ public class FarmingIsles extends SkyblockWorld.WorldProvider {
             return wrapped.isInRegion(pos);
         }
 
+        @Override
+        public BoundingBox bounds() {
+            return wrapped.bounds();
+        }
+
         @Override
         public String toString() {
             return wrapped.name();
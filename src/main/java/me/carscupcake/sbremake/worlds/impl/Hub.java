@@ -23,6 +23,7 @@ import me.carscupcake.sbremake.util.ItemCost;
 import me.carscupcake.sbremake.util.Pair;
 import me.carscupcake.sbremake.worlds.*;
 import me.carscupcake.sbremake.worlds.region.CuboidRegion;
+import me.carscupcake.sbremake.worlds.region.MoveTrigger;
 import me.carscupcake.sbremake.worlds.region.PolygonalRegion;
 import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Point;
@@ -61,6 +62,13 @@ public class Hub extends ForagingIsle {
         return Region.values();
     }
 
+    @Override
+    protected List<MoveTrigger> moveTriggers() {
+        var triggers = super.moveTriggers();
+        triggers.add(PrivateIsle.HUB_PORTAL);
+        return triggers;
+    }
+
     @Override
     public boolean useCustomMining() {
         return false;
@@ -170,6 +178,11 @@ public class Hub extends ForagingIsle {
             return wrapped.isInRegion(pos);
         }
 
+        @Override
+        public BoundingBox bounds() {
+            return wrapped.bounds();
+        }
+
         @Override
         public String toString() {
             return wrapped.name();
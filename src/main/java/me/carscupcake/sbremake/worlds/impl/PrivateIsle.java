@@ -14,12 +14,12 @@ import me.carscupcake.sbremake.util.Pair;
 import me.carscupcake.sbremake.worlds.EntityNpc;
 import me.carscupcake.sbremake.worlds.SkyblockWorld;
 import me.carscupcake.sbremake.worlds.WarpLocation;
+import me.carscupcake.sbremake.worlds.region.MoveTrigger;
 import me.carscupcake.sbremake.worlds.region.Region;
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.EntityType;
-import net.minestom.server.event.Event;
-import net.minestom.server.event.EventNode;
-import net.minestom.server.event.player.PlayerMoveEvent;
 import net.minestom.server.instance.anvil.AnvilLoader;
 import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
@@ -35,16 +35,22 @@ import static me.carscupcake.sbremake.worlds.SkyblockWorld.getZipFiles;
 
 @Getter
 public class PrivateIsle extends SkyblockWorld.WorldProvider {
-    public static final EventNode<Event> NODE = EventNode.all("privateIsle")
-            .addListener(PlayerMoveEvent.class, playerMoveEvent -> {
-                SkyblockPlayer player = (SkyblockPlayer) playerMoveEvent.getPlayer();
-                if (player.getWorldProvider().type() == SkyblockWorld.Hub) {
-                    var pos = player.getPosition();
-                    if (pos.x() <= -1 && pos.x() >= -5 && pos.z() <= -62 && pos.z() >= -65 && ((long) pos.y()) == 70) {
-                        SkyblockWorld.sendToBest(WarpLocation.PrivateIsle, player);
-                    }
-                }
-            });
+    /**
+     * The portal in the hub that sends players to their private island
+     */
+    public static final MoveTrigger HUB_PORTAL = new MoveTrigger() {
+        @Override
+        public BoundingBox bounds() {
+            return BoundingBox.fromPoints(new Vec(-5, 70, -65), new Vec(-1, 71, -62));
+        }
+
+        @Override
+        public void onMove(SkyblockPlayer player, Pos pos, boolean onGround) {
+            if (pos.x() <= -1 && pos.x() >= -5 && pos.z() <= -62 && pos.z() >= -65 && ((long) pos.y()) == 70) {
+                SkyblockWorld.sendToBest(WarpLocation.PrivateIsle, player);
+            }
+        }
+    };
     private final SkyblockPlayer owner;
     public final Map<UUID, Minion> minions = new HashMap<>();
     @Setter
@@ -163,9 +169,12 @@ public class PrivateIsle extends SkyblockWorld.WorldProvider {
 
     @Override
     protected void unregister() {
+        ConfigFile config = new ConfigFile("minions", owner);
         for (var minion : minions.values()) {
+            minion.save(config);
             minion.remove(MinionRemoveReason.QUIT);
         }
+        config.save();
         Path path = null;
         try {
             var f = AnvilLoader.class.getDeclaredField("path");
@@ -121,6 +121,11 @@ public class SpidersDen extends SkyblockWorld.WorldProvider {
             return wrapped.isInRegion(pos);
         }
 
+        @Override
+        public BoundingBox bounds() {
+            return wrapped.bounds();
+        }
+
         @Override
         public String toString() {
             return wrapped.name();
@@ -0,0 +1,33 @@
+package me.carscupcake.sbremake.worlds.impl.dungeon;
+
+import lombok.Getter;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.LightingChunk;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A chunk of a dungeon, which remembers if a block changed after the room was pasted into it.
+ * Recycled dungeons only regenerate the changed chunks (see {@link DungeonPool}).
+ */
+public class DungeonChunk extends LightingChunk {
+    private volatile boolean generated;
+    @Getter
+    private volatile boolean changed;
+
+    public DungeonChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        super(instance, chunkX, chunkZ);
+    }
+
+    void markGenerated() {
+        generated = true;
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, @NotNull Block block, @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy) {
+        super.setBlock(x, y, z, block, placement, destroy);
+        if (generated) changed = true;
+    }
+}
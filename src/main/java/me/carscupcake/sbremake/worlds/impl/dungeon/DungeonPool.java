@@ -0,0 +1,101 @@
+package me.carscupcake.sbremake.worlds.impl.dungeon;
+
+import me.carscupcake.sbremake.Main;
+import me.carscupcake.sbremake.util.Pos2d;
+import me.carscupcake.sbremake.worlds.SkyblockWorld;
+import me.carscupcake.sbremake.worlds.impl.Dungeon;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dungeons that are generated and fully loaded before anyone asks for them, so a party can be sent into one right away.
+ * The pool refills itself in the background whenever a dungeon is taken.
+ * Finished dungeons come back through {@link #recycle(Dungeon)}, only their changed chunks get generated again.
+ * Dungeons in the pool are not in the world list, they get added once they are handed out.
+ * <p>
+ * The amount of ready dungeons is set with the {@code DUNGEON_POOL_SIZE} environment variable (default 1, 0 disables the pool).
+ * Nothing gets generated before the first dungeon is asked for, so servers that never start one do not pay for it.
+ */
+public class DungeonPool {
+    public static final int SIZE = Integer.parseInt(System.getenv().getOrDefault("DUNGEON_POOL_SIZE", "1"));
+    private static final Queue<Dungeon> ready = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger preparing = new AtomicInteger();
+
+    /**
+     * @return a ready dungeon from the pool, or a newly generated one if the pool is empty
+     */
+    public static CompletableFuture<Dungeon> acquire() {
+        Dungeon dungeon = ready.poll();
+        refill();
+        if (dungeon != null) {
+            SkyblockWorld.addWorld(dungeon);
+            return CompletableFuture.completedFuture(dungeon);
+        }
+        Main.LOGGER.debug("The dungeon pool is empty, generating a dungeon on demand");
+        return prepare().thenApply(prepared -> {
+            SkyblockWorld.addWorld(prepared);
+            return prepared;
+        });
+    }
+
+    /**
+     * Resets the changed chunks of a finished dungeon and puts it back into the pool.
+     * The dungeon gets removed instead if the pool is already full
+     */
+    public static void recycle(Dungeon dungeon) {
+        Thread.startVirtualThread(() -> {
+            try {
+                SkyblockWorld.removeWorld(dungeon);
+                if (ready.size() + preparing.get() >= SIZE) {
+                    dungeon.remove();
+                    return;
+                }
+                long start = System.currentTimeMillis();
+                int chunks = dungeon.reset();
+                ready.add(dungeon);
+                Main.LOGGER.debug("Recycled a dungeon ({} changed chunks) in {}ms", chunks, System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                Main.LOGGER.warn("Could not recycle a dungeon", e);
+                dungeon.remove();
+            }
+        });
+    }
+
+    public static int getReadyCount() {
+        return ready.size();
+    }
+
+    private static void refill() {
+        while (true) {
+            int current = preparing.get();
+            if (ready.size() + current >= SIZE) return;
+            if (!preparing.compareAndSet(current, current + 1)) continue;
+            prepare().whenComplete((dungeon, throwable) -> {
+                if (dungeon != null) ready.add(dungeon);
+                else Main.LOGGER.warn("Could not generate a dungeon for the pool", throwable);
+                preparing.decrementAndGet();
+            });
+        }
+    }
+
+    private static CompletableFuture<Dungeon> prepare() {
+        CompletableFuture<Dungeon> future = new CompletableFuture<>();
+        Thread.startVirtualThread(() -> {
+            try {
+                var generator = new Generator(new Room[6][6]);
+                generator.generateDoors(new Pos2d(generator.getFairy().pos().x(), generator.getFairy().pos().z()));
+                var dungeon = new Dungeon(generator);
+                // Loads every chunk of the floor, so all rooms are pasted before the dungeon is handed out
+                dungeon.init(() -> future.complete(dungeon));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        // A world that fails to load never runs its start callbacks
+        return future.orTimeout(2, TimeUnit.MINUTES);
+    }
+}
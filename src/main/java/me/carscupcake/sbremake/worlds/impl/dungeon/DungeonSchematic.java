@@ -0,0 +1,319 @@
+package me.carscupcake.sbremake.worlds.impl.dungeon;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.Getter;
+import me.carscupcake.sbremake.Main;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A parsed dungeon room schematic. Every room is parsed once and kept as palette indices,
+ * the block palette for each of the four {@link Rotation}s is computed when it is first needed.
+ * <p>
+ * Rooms are read from the binary form ({@code <path>.bin}, generated at build time by the convertSchematics gradle task)
+ * when it exists, otherwise from the gzipped json.
+ */
+public class DungeonSchematic {
+    public static final String ROOMS_PATH = "assets/shematics/dungeon/rooms/";
+    public static final String BINARY_SUFFIX = ".bin";
+    /**
+     * Index of positions that are not part of the schematic
+     */
+    public static final short NONE = -1;
+    private static final int MAGIC = 0x53424453;
+    private static final short VERSION = 1;
+    private static final Map<String, DungeonSchematic> cache = new ConcurrentHashMap<>();
+
+    @Getter
+    private final Rotation originRotation;
+    private final PaletteEntry[] palette;
+    @Getter
+    private final int sizeX, sizeY, sizeZ;
+    private final short[] blocks;
+    private final AtomicReferenceArray<Block[]> rotatedPalettes = new AtomicReferenceArray<>(4);
+
+    private DungeonSchematic(Rotation originRotation, PaletteEntry[] palette, int sizeX, int sizeY, int sizeZ, short[] blocks) {
+        this.originRotation = originRotation;
+        this.palette = palette;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.blocks = blocks;
+    }
+
+    public static String path(RoomType type, RoomShape shape, String id) {
+        return ROOMS_PATH + (type == RoomType.Room ? shape.toString() : type.toString().toLowerCase()) + "/" + id;
+    }
+
+    /**
+     * @param path the classpath location of the gzipped json schematic
+     * @return the cached schematic
+     */
+    public static DungeonSchematic get(String path) {
+        return cache.computeIfAbsent(path, DungeonSchematic::load);
+    }
+
+    private static DungeonSchematic load(String path) {
+        try (InputStream binary = Main.class.getClassLoader().getResourceAsStream(path + BINARY_SUFFIX)) {
+            if (binary != null) return read(binary);
+        } catch (IOException e) {
+            Main.LOGGER.warn("Could not read the binary schematic of {}, falling back to json", path, e);
+        }
+        try (InputStream json = Main.class.getClassLoader().getResourceAsStream(path)) {
+            return parseJson(Objects.requireNonNull(json, path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the palette index at the position in schematic coordinates, or {@link #NONE}
+     */
+    public short getIndex(int x, int y, int z) {
+        if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ) return NONE;
+        return blocks[(x * sizeY + y) * sizeZ + z];
+    }
+
+    /**
+     * @param rotation the rotation the room gets placed with
+     * @return the blocks of the palette, with their properties rotated for the room rotation
+     */
+    public Block[] getPalette(Rotation rotation) {
+        int origin = rotation.ordinal() - originRotation.ordinal();
+        if (origin < 0) origin += 4;
+        Block[] rotated = rotatedPalettes.get(origin);
+        if (rotated == null) {
+            rotated = new Block[palette.length];
+            for (int i = 0; i < palette.length; i++)
+                rotated[i] = palette[i].toBlock(origin);
+            // Computing it twice is harmless, both results contain the same blocks
+            if (!rotatedPalettes.compareAndSet(origin, null, rotated)) rotated = rotatedPalettes.get(origin);
+        }
+        return rotated;
+    }
+
+    /**
+     * Fills the room into a chunk that is not loaded yet by writing the section palettes directly, one section at a time.
+     * Air is skipped, the chunk is expected to be empty. Blocks that need a block entry (textured heads, chests)
+     * are set through the chunk, so the chunk knows about them.
+     *
+     * @param toRelative the transform of the room from world into schematic coordinates
+     * @param rotation   the rotation the room gets placed with
+     * @param maxY       the exclusive maximum height that gets filled
+     */
+    public void fill(Chunk chunk, RoomTransform toRelative, Rotation rotation, int maxY) {
+        Block[] rotated = getPalette(rotation);
+        int[] stateIds = new int[rotated.length];
+        boolean[] entries = new boolean[rotated.length];
+        for (int i = 0; i < rotated.length; i++) {
+            Block block = rotated[i];
+            stateIds[i] = block.isAir() ? -1 : block.stateId();
+            entries[i] = block.hasNbt() || block.handler() != null || block.registry().isBlockEntity();
+        }
+        int height = Math.min(maxY, sizeY);
+        int baseX = chunk.getChunkX() << 4, baseZ = chunk.getChunkZ() << 4;
+        for (int sectionY = 0; sectionY << 4 < height; sectionY++) {
+            Palette section = chunk.getSection(sectionY).blockPalette();
+            int minY = sectionY << 4, sectionMaxY = Math.min(minY + 16, height);
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    int relX = toRelative.x(baseX + x, baseZ + z), relZ = toRelative.z(baseX + x, baseZ + z);
+                    if (relX < 0 || relZ < 0 || relX >= sizeX || relZ >= sizeZ) continue;
+                    int column = relX * sizeY * sizeZ + relZ;
+                    for (int y = minY; y < sectionMaxY; y++) {
+                        short index = blocks[column + y * sizeZ];
+                        if (index == NONE || stateIds[index] == -1) continue;
+                        if (entries[index]) chunk.setBlock(x, y, z, rotated[index]);
+                        else section.set(x, y & 15, z, stateIds[index]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static DungeonSchematic parseJson(InputStream in) throws IOException {
+        JsonObject obj;
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(in), StandardCharsets.UTF_8)) {
+            obj = JsonParser.parseReader(reader).getAsJsonObject();
+        }
+        Rotation originRotation = Rotation.fromName(obj.get("originRotation").getAsString());
+        JsonArray jsonPalette = obj.get("pallete").getAsJsonArray();
+        PaletteEntry[] palette = new PaletteEntry[jsonPalette.size()];
+        for (int i = 0; i < palette.length; i++) {
+            JsonObject object = jsonPalette.get(i).getAsJsonObject();
+            List<Property> properties = new ArrayList<>();
+            for (var e : object.get("properties").getAsJsonArray()) {
+                JsonObject prop = e.getAsJsonObject();
+                properties.add(new Property(prop.get("name").getAsString(), prop.get("value").getAsString().toLowerCase(), prop.get("type").getAsString()));
+            }
+            palette[i] = new PaletteEntry(object.get("id").getAsString(), properties, object.has("texture") ? object.get("texture").getAsString() : null);
+        }
+        JsonArray xArr = obj.get("blocks").getAsJsonArray();
+        int sizeX = xArr.size(), sizeY = 0, sizeZ = 0;
+        for (var yArr : xArr) {
+            sizeY = Math.max(sizeY, yArr.getAsJsonArray().size());
+            for (var zArr : yArr.getAsJsonArray())
+                sizeZ = Math.max(sizeZ, zArr.getAsJsonArray().size());
+        }
+        short[] blocks = new short[sizeX * sizeY * sizeZ];
+        Arrays.fill(blocks, NONE);
+        for (int x = 0; x < sizeX; x++) {
+            JsonArray yArr = xArr.get(x).getAsJsonArray();
+            for (int y = 0; y < yArr.size(); y++) {
+                JsonArray zArr = yArr.get(y).getAsJsonArray();
+                for (int z = 0; z < zArr.size(); z++)
+                    blocks[(x * sizeY + y) * sizeZ + z] = (short) zArr.get(z).getAsInt();
+            }
+        }
+        return new DungeonSchematic(originRotation, palette, sizeX, sizeY, sizeZ, blocks);
+    }
+
+    private static DungeonSchematic read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+        if (data.readInt() != MAGIC) throw new IOException("Not a binary schematic");
+        short version = data.readShort();
+        if (version != VERSION) throw new IOException("Unsupported schematic version " + version);
+        Rotation originRotation = Rotation.valueOf(data.readUTF());
+        PaletteEntry[] palette = new PaletteEntry[data.readInt()];
+        for (int i = 0; i < palette.length; i++) {
+            String id = data.readUTF();
+            String texture = data.readBoolean() ? data.readUTF() : null;
+            List<Property> properties = new ArrayList<>();
+            int propertyCount = data.readInt();
+            for (int j = 0; j < propertyCount; j++)
+                properties.add(new Property(data.readUTF(), data.readUTF(), data.readUTF()));
+            palette[i] = new PaletteEntry(id, properties, texture);
+        }
+        int sizeX = data.readInt(), sizeY = data.readInt(), sizeZ = data.readInt();
+        short[] blocks = new short[sizeX * sizeY * sizeZ];
+        for (int i = 0; i < blocks.length; i++)
+            blocks[i] = data.readShort();
+        return new DungeonSchematic(originRotation, palette, sizeX, sizeY, sizeZ, blocks);
+    }
+
+    /**
+     * Writes the schematic in the binary form
+     */
+    public void write(OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(gzip));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeUTF(originRotation.name());
+        data.writeInt(palette.length);
+        for (PaletteEntry entry : palette) {
+            data.writeUTF(entry.id());
+            data.writeBoolean(entry.texture() != null);
+            if (entry.texture() != null) data.writeUTF(entry.texture());
+            data.writeInt(entry.properties().size());
+            for (Property property : entry.properties()) {
+                data.writeUTF(property.name());
+                data.writeUTF(property.value());
+                data.writeUTF(property.type());
+            }
+        }
+        data.writeInt(sizeX);
+        data.writeInt(sizeY);
+        data.writeInt(sizeZ);
+        for (short block : blocks)
+            data.writeShort(block);
+        data.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Converts every gzipped json schematic in the rooms folder into the binary form. Used by the convertSchematics gradle task
+     *
+     * @param args the resources folder and the output folder
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) throw new IllegalArgumentException("Usage: DungeonSchematic <resources folder> <output folder>");
+        File resources = new File(args[0]);
+        File output = new File(args[1]);
+        File rooms = new File(resources, ROOMS_PATH);
+        int converted = 0;
+        for (File folder : Objects.requireNonNull(rooms.listFiles(File::isDirectory))) {
+            for (File file : Objects.requireNonNull(folder.listFiles(File::isFile))) {
+                if (file.getName().endsWith(BINARY_SUFFIX)) continue;
+                DungeonSchematic schematic;
+                try (InputStream in = new FileInputStream(file)) {
+                    schematic = parseJson(in);
+                }
+                File target = new File(output, ROOMS_PATH + folder.getName() + "/" + file.getName() + BINARY_SUFFIX);
+                target.getParentFile().mkdirs();
+                try (OutputStream out = new FileOutputStream(target)) {
+                    schematic.write(out);
+                }
+                converted++;
+            }
+        }
+        System.out.println("Converted " + converted + " schematics");
+    }
+
+    private record Property(String name, String value, String type) {
+    }
+
+    private record PaletteEntry(String id, List<Property> properties, String texture) {
+        /**
+         * @param origin the amount of clockwise quarter turns from the origin rotation of the schematic
+         */
+        Block toBlock(int origin) {
+            var map = new HashMap<String, String>();
+            for (Property prop : properties) {
+                var name = prop.name();
+                var value = prop.value();
+                if (name.equals("rotation")) {
+                    var intValue = Integer.parseInt(value);
+                    value = String.valueOf((intValue + 4) % 16);
+                } else if (name.equals("facing")) {
+                    var en = FacingDirection.fromId(value);
+                    for (int j = 0; j < origin; j++) {
+                        en = en.next();
+                    }
+                    value = en.getId();
+                } else if (name.equals("axis") && !value.equals("y")) {
+                    if (origin % 2 != 0) value = value.equals("x") ? "z" : "x";
+                } else {
+                    if (prop.type().equals("class_4778")) {
+                        var en = FacingDirection.fromId(name);
+                        for (int j = 0; j < origin; j++) {
+                            en = en.next();
+                        }
+                        name = en.getId();
+                    } else if (prop.type().equals("Boolean")) {
+                        var en = FacingDirection.fromId(name);
+                        if (en != null) {
+                            for (int j = 0; j < origin; j++) {
+                                en = en.next();
+                            }
+                            name = en.getId();
+                        }
+                    }
+                }
+                map.put(name, value.toLowerCase());
+            }
+            var b = Block.fromKey(Key.key(id)).withProperties(map);
+            if (texture != null) {
+                var textures = CompoundBinaryTag.empty().putString("name", "textures").putString("value", texture);
+                var properties = ListBinaryTag.from(List.of(textures));
+                var profile = CompoundBinaryTag.empty().putString("name", "CarsCupcake").put("properties", properties);
+                b = b.withNbt(CompoundBinaryTag.empty().put("profile", profile));
+            }
+            return b;
+        }
+    }
+}
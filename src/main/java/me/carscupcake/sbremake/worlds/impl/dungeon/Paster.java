@@ -1,22 +1,14 @@
 package me.carscupcake.sbremake.worlds.impl.dungeon;
 
-import com.google.gson.JsonParser;
 import lombok.SneakyThrows;
 import me.carscupcake.sbremake.Main;
-import me.carscupcake.sbremake.util.PalletItem;
 import me.carscupcake.sbremake.util.Pos2d;
-import net.kyori.adventure.key.Key;
-import net.kyori.adventure.nbt.CompoundBinaryTag;
-import net.kyori.adventure.nbt.ListBinaryTag;
-import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.Instance;
-import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.batch.AbsoluteBlockBatch;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.zip.GZIPInputStream;
 
 public class Paster {
     private final Instance instance;
@@ -34,7 +26,7 @@ public class Paster {
                     continue;
                 }
                 threads.add(Thread.startVirtualThread(() -> {
-                    paste(room.pos(), room.rotation(), room.shape(), "dino-dig-site-4", room.type());
+                    paste(room.pos(), room.rotation(), room.shape(), "dino-dig-site-4", room.type()).join();
                     Main.LOGGER.debug("{}/{}", i.addAndGet(1), total);
 
                 }));
@@ -59,7 +51,7 @@ public class Paster {
                 if (room.type() == RoomType.Trap) {
                     final var isHard = new Random().nextBoolean();
                     threads.add(Thread.startVirtualThread(() -> {
-                        paste(room.pos(), room.rotation(), room.shape(), isHard ? "trap-very-hard-3" : "trap-hard-4", room.type());
+                        paste(room.pos(), room.rotation(), room.shape(), isHard ? "trap-very-hard-3" : "trap-hard-4", room.type()).join();
                         Main.LOGGER.debug("Trap: {}/{}", i.addAndGet(1), total);
                         //System.gc();
                     }));
@@ -69,7 +61,7 @@ public class Paster {
                 if (room.type() == RoomType.Puzzle) {
                     final var puzzle = puzzles[new Random().nextInt(puzzles.length)];
                     threads.add(Thread.startVirtualThread(() -> {
-                        paste(room.pos(), room.rotation(), room.shape(), puzzle, room.type());
+                        paste(room.pos(), room.rotation(), room.shape(), puzzle, room.type()).join();
                         Main.LOGGER.debug("Puzzle: {}/{}", i.addAndGet(1), total);
                         //System.gc();
                     }));
@@ -88,7 +80,7 @@ public class Paster {
                         case ONE_BY_FOUR -> "mossy-4";
                         case TWO_BY_TWO -> "mithril-cave-10";
                         default -> throw new IllegalStateException("Unexpected value: " + room.shape());
-                    }, room.type());
+                    }, room.type()).join();
                     Main.LOGGER.debug("{}/{}", i.addAndGet(1), total);
                     //System.gc();
                 }));
@@ -104,88 +96,31 @@ public class Paster {
         System.gc();
     }
 
-    public void paste(Pos2d pos2d, Rotation rotation, RoomShape shape, String id, RoomType type) {
-        try {
-            var path = "assets/shematics/dungeon/rooms/" + (type == RoomType.Room ?  shape.toString() : type.toString().toLowerCase()) + "/" + id;
-            try (InputStream resourceAsStream = Main.class.getClassLoader().getResourceAsStream(path)) {
-                try (GZIPInputStream gzipOut = new GZIPInputStream(Objects.requireNonNull(resourceAsStream))) {
-                    var obj = JsonParser.parseReader(new InputStreamReader(gzipOut)).getAsJsonObject();
-                    var origin = rotation.ordinal() - Rotation.fromName(obj.get("originRotation").getAsString()).ordinal();
-                    if (origin < 0) origin += 4;
-                    var jsonPallete = obj.get("pallete").getAsJsonArray();
-                    Block[] blocks = new Block[jsonPallete.size()];
-                    for (int i = 0; i < blocks.length; i++) {
-                        var object = jsonPallete.get(i).getAsJsonObject();
-                        var map = new HashMap<String, String>();
-                        for (var e : object.get("properties").getAsJsonArray()) {
-                            var prop = e.getAsJsonObject();
-                            var name = prop.get("name").getAsString();
-                            var value = prop.get("value").getAsString().toLowerCase();
-                            if (name.equals("rotation")) {
-                                var intValue = Integer.parseInt(value);
-                                value = String.valueOf((intValue + 4) % 16);
-                            } else if (name.equals("facing")) {
-                                var en = FacingDirection.fromId(value);
-                                for (int j = 0; j < origin; j++) {
-                                    en = en.next();
-                                }
-                                value = en.getId();
-                            } else if (name.equals("axis") && !value.equals("y")) {
-                                if (origin % 2 != 0) value = value.equals("x") ? "z" : "x";
-                            } else {
-                                if (prop.get("type").getAsString().equals("class_4778")) {
-                                    var en = FacingDirection.fromId(name);
-                                    for (int j = 0; j < origin; j++) {
-                                        en = en.next();
-                                    }
-                                    name = en.getId();
-                                } else if (prop.get("type").getAsString().equals("Boolean")) {
-                                    var en = FacingDirection.fromId(name);
-                                    if (en != null) {
-                                        for (int j = 0; j < origin; j++) {
-                                            en = en.next();
-                                        }
-                                        name = en.getId();
-                                    }
-                                }
-                            }
-                            map.put(name, value.toLowerCase());
-                        }
-                        var b = Block.fromKey(Key.key(object.get("id").getAsString())).withProperties(map);
-
-                        if (object.has("texture")) {
-                            var textures = CompoundBinaryTag.empty().putString("name", "textures").putString("value", object.get("texture").getAsString());
-                            var properties = ListBinaryTag.from(List.of(textures));
-                            var profile = CompoundBinaryTag.empty().putString("name", "CarsCupcake").put("properties", properties);
-                            b = b.withNbt(CompoundBinaryTag.empty().put("profile", profile));
-                        }
-                        blocks[i] = b;
-                    }
-                    var xArr = obj.get("blocks").getAsJsonArray();
-                    for (var x = 0; x < xArr.size(); x++) {
-                        var yArr = xArr.get(x).getAsJsonArray();
-                        for (var y = 0; y < yArr.size(); y++) {
-                            var zArr = yArr.get(y).getAsJsonArray();
-                            for (var z = 0; z < zArr.size(); z++) {
-                                instance.setBlock(shape.toActual(pos2d, new Vec(x, y, z), rotation), blocks[zArr.get(z).getAsInt()], false);
-                            }
-                        }
-                    }
-                /*var entities = obj.get("entities").getAsJsonArray();
-                System.out.println("entities: " + entities.size());
-                for (var entity : entities) {
-                    var o = entity.getAsJsonObject();
-                    var test = new LivingEntity(EntityType.ARMOR_STAND);
-                    test.set(DataComponents.CUSTOM_NAME, Component.text(o.get("type").getAsString() + " " + o.get("starred").getAsBoolean()));
-                    test.setCustomNameVisible(true);
-                    test.setNoGravity(true);
-                    var p = o.get("pos").getAsJsonObject();
-                    test.setInstance(instance, new Pos(p.get("x").getAsInt(), p.get("y").getAsInt(), p.get("z").getAsInt()));
-                }*/
+    /**
+     * Queues the blocks of the room in one batch. The batch gets applied in the next tick of the instance, so this
+     * must not be joined on the tick thread.
+     *
+     * @return completes when the batch was applied
+     */
+    public CompletableFuture<Void> paste(Pos2d pos2d, Rotation rotation, RoomShape shape, String id, RoomType type) {
+        var schematic = DungeonSchematic.get(DungeonSchematic.path(type, shape, id));
+        var blocks = schematic.getPalette(rotation);
+        var toActual = RoomTransform.toActual(shape, pos2d, rotation);
+        // The batch sets the blocks per chunk and sends every chunk once, instead of one block change per block
+        var batch = new AbsoluteBlockBatch();
+        for (var x = 0; x < schematic.getSizeX(); x++) {
+            for (var z = 0; z < schematic.getSizeZ(); z++) {
+                var actualX = toActual.x(x, z);
+                var actualZ = toActual.z(x, z);
+                for (var y = 0; y < schematic.getSizeY(); y++) {
+                    var index = schematic.getIndex(x, y, z);
+                    if (index == DungeonSchematic.NONE) continue;
+                    batch.setBlock(actualX, y, actualZ, blocks[index]);
                 }
             }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
         }
+        var done = new CompletableFuture<Void>();
+        batch.apply(instance, () -> done.complete(null));
+        return done;
     }
 }
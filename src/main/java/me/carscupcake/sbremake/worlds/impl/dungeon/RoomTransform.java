@@ -0,0 +1,47 @@
+package me.carscupcake.sbremake.worlds.impl.dungeon;
+
+import me.carscupcake.sbremake.util.Pos2d;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * The mapping of a placed room between world and schematic coordinates as plain integer math.
+ * {@link RoomShape#toRelative} and {@link RoomShape#toActual} allocate points on every call, this is derived from them
+ * once per room. The y coordinate is the same in both spaces.
+ */
+public record RoomTransform(int originX, int originZ, int xToX, int zToX, int xToZ, int zToZ) {
+
+    /**
+     * @return the transform from world coordinates into schematic coordinates
+     */
+    public static RoomTransform toRelative(RoomShape shape, Pos2d target, Rotation rotation) {
+        return of(point -> shape.toRelative(target, point, rotation));
+    }
+
+    /**
+     * @return the transform from schematic coordinates into world coordinates
+     */
+    public static RoomTransform toActual(RoomShape shape, Pos2d target, Rotation rotation) {
+        return of(point -> shape.toActual(target, point, rotation));
+    }
+
+    private static RoomTransform of(UnaryOperator<Point> transform) {
+        // Every rotation is a quarter turn plus an offset, so three points are enough to know it
+        Point origin = transform.apply(Vec.ZERO);
+        Point x = transform.apply(new Vec(1, 0, 0));
+        Point z = transform.apply(new Vec(0, 0, 1));
+        return new RoomTransform(origin.blockX(), origin.blockZ(),
+                x.blockX() - origin.blockX(), z.blockX() - origin.blockX(),
+                x.blockZ() - origin.blockZ(), z.blockZ() - origin.blockZ());
+    }
+
+    public int x(int x, int z) {
+        return originX + xToX * x + zToX * z;
+    }
+
+    public int z(int x, int z) {
+        return originZ + xToZ * x + zToZ * z;
+    }
+}
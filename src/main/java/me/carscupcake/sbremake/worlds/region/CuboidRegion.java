@@ -3,6 +3,7 @@ package me.carscupcake.sbremake.worlds.region;
 import me.carscupcake.sbremake.player.SkyblockPlayer;
 import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
 
 import java.util.Set;
 import java.util.function.Consumer;
@@ -20,6 +21,22 @@ public record CuboidRegion(String name, Set<BoundingBox> cuboids, Consumer<Skybl
         return false;
     }
 
+    @Override
+    public BoundingBox bounds() {
+        if (cuboids.isEmpty()) return null;
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (BoundingBox boundingBox : cuboids) {
+            minX = Math.min(minX, boundingBox.minX());
+            minY = Math.min(minY, boundingBox.minY());
+            minZ = Math.min(minZ, boundingBox.minZ());
+            maxX = Math.max(maxX, boundingBox.maxX());
+            maxY = Math.max(maxY, boundingBox.maxY());
+            maxZ = Math.max(maxZ, boundingBox.maxZ());
+        }
+        return BoundingBox.fromPoints(new Vec(minX, minY, minZ), new Vec(maxX, maxY, maxZ));
+    }
+
     public static boolean containsBB(BoundingBox bb, Point point) {
         var minY = bb.minY();
         var a = bb.minX() <= point.x();
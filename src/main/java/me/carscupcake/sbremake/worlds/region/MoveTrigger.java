@@ -0,0 +1,21 @@
+package me.carscupcake.sbremake.worlds.region;
+
+import me.carscupcake.sbremake.player.SkyblockPlayer;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Pos;
+
+/**
+ * Something that happens when a player moves into an area, like a launchpad or a portal.
+ * Triggers are looked up through the {@link MoveTriggerIndex} of the world.
+ */
+public interface MoveTrigger {
+    /**
+     * @return the area the trigger can fire in, the trigger checks the exact area itself
+     */
+    BoundingBox bounds();
+
+    /**
+     * Called when a player moves to a new block inside the bounds, or lands or jumps inside them
+     */
+    void onMove(SkyblockPlayer player, Pos pos, boolean onGround);
+}
@@ -0,0 +1,106 @@
+package me.carscupcake.sbremake.worlds.region;
+
+import me.carscupcake.sbremake.player.SkyblockPlayer;
+import me.carscupcake.sbremake.worlds.SkyblockWorld;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.player.PlayerMoveEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * The regions and {@link MoveTrigger}s of a world, bucketed by the chunks their bounds overlap.
+ * A player move only looks at the bucket of its chunk, and only when the player reached a new block or landed or jumped.
+ */
+public class MoveTriggerIndex {
+    private static final MoveTrigger[] NO_TRIGGERS = new MoveTrigger[0];
+
+    public static final EventNode<Event> LISTENER = EventNode.all("move-triggers").addListener(PlayerMoveEvent.class, event -> {
+        SkyblockPlayer player = (SkyblockPlayer) event.getPlayer();
+        Pos pos = event.getNewPosition();
+        if (!player.getGameMode().invulnerable() && pos.y() <= -64) player.setSbHealth(0);
+        SkyblockWorld.WorldProvider provider = player.getWorldProvider();
+        if (provider == null) return;
+        if (pos.sameBlock(player.getPosition()) && event.isOnGround() == player.isOnGround()) return;
+        provider.getMoveTriggers().onMove(player, pos, event.isOnGround());
+    });
+
+    private final Map<Long, Region[]> regions;
+    /**
+     * Regions without bounds, used for chunks without a bucket
+     */
+    private final Region[] unboundedRegions;
+    private final Map<Long, MoveTrigger[]> triggers;
+
+    public MoveTriggerIndex(Region[] regions, Collection<? extends MoveTrigger> triggers) {
+        Map<Long, List<Region>> regionBuckets = new HashMap<>();
+        List<Region> unbounded = new ArrayList<>();
+        for (Region region : regions) {
+            BoundingBox bounds = region.bounds();
+            if (bounds == null) unbounded.add(region);
+            else add(regionBuckets, bounds, region);
+        }
+        // The first matching region wins, so every bucket keeps the order of regions()
+        List<Region> order = Arrays.asList(regions);
+        for (List<Region> bucket : regionBuckets.values()) {
+            bucket.addAll(unbounded);
+            bucket.sort(Comparator.comparingInt(order::indexOf));
+        }
+        this.regions = toArrays(regionBuckets, Region[]::new);
+        this.unboundedRegions = unbounded.toArray(Region[]::new);
+
+        Map<Long, List<MoveTrigger>> triggerBuckets = new HashMap<>();
+        for (MoveTrigger trigger : triggers)
+            add(triggerBuckets, trigger.bounds(), trigger);
+        this.triggers = toArrays(triggerBuckets, MoveTrigger[]::new);
+    }
+
+    private static <T> void add(Map<Long, List<T>> buckets, BoundingBox bounds, T value) {
+        int minChunkX = (int) Math.floor(bounds.minX()) >> 4, maxChunkX = (int) Math.floor(bounds.maxX()) >> 4;
+        int minChunkZ = (int) Math.floor(bounds.minZ()) >> 4, maxChunkZ = (int) Math.floor(bounds.maxZ()) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+                buckets.computeIfAbsent(index(chunkX, chunkZ), ignored -> new ArrayList<>()).add(value);
+    }
+
+    private static <T> Map<Long, T[]> toArrays(Map<Long, List<T>> buckets, IntFunction<T[]> generator) {
+        Map<Long, T[]> arrays = new HashMap<>();
+        for (Map.Entry<Long, List<T>> entry : buckets.entrySet())
+            arrays.put(entry.getKey(), entry.getValue().toArray(generator));
+        return Map.copyOf(arrays);
+    }
+
+    private static long index(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the first region of the world containing the position, or null
+     */
+    public @Nullable Region getRegion(Pos pos) {
+        Region[] candidates = regions.getOrDefault(index(pos.chunkX(), pos.chunkZ()), unboundedRegions);
+        for (Region region : candidates)
+            if (region.isInRegion(pos)) return region;
+        return null;
+    }
+
+    /**
+     * Updates the region of the player and fires the triggers at the position
+     */
+    public void onMove(SkyblockPlayer player, Pos pos, boolean onGround) {
+        Region region = getRegion(pos);
+        if (player.getRegion() != region) {
+            if (player.getRegion() != null)
+                player.getRegion().onExit(player);
+            if (region != null)
+                region.onEnter(player);
+            player.setRegion(region);
+        }
+        for (MoveTrigger trigger : triggers.getOrDefault(index(pos.chunkX(), pos.chunkZ()), NO_TRIGGERS))
+            trigger.onMove(player, pos, onGround);
+    }
+}
@@ -1,13 +1,17 @@
 package me.carscupcake.sbremake.worlds.region;
 
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
 
-public record PolygonalRegion(String name, Pos[] points, int highestY, int lowestY) implements Region {
+public record PolygonalRegion(String name, Pos[] points, int highestY, int lowestY, BoundingBox bounds) implements Region {
 
-    @Override
-    public boolean isInRegion(Point pos) {
-        if (pos.y() < lowestY || pos.y() > highestY) return false;
+    public PolygonalRegion(String name, Pos[] points, int highestY, int lowestY) {
+        this(name, points, highestY, lowestY, computeBounds(points, highestY, lowestY));
+    }
+
+    private static BoundingBox computeBounds(Pos[] points, int highestY, int lowestY) {
         double minX = points[0].x();
         double maxX = points[0].x();
         double minz = points[0].z();
@@ -19,7 +23,12 @@ public record PolygonalRegion(String name, Pos[] points, int highestY, int lowes
             minz = Math.min(q.z(), minz);
             maxz = Math.max(q.z(), maxz);
         }
-        if (pos.x() < minX || pos.x() > maxX || pos.z() < minz || pos.z() > maxz) return false;
+        return BoundingBox.fromPoints(new Vec(minX, lowestY, minz), new Vec(maxX, highestY, maxz));
+    }
+
+    @Override
+    public boolean isInRegion(Point pos) {
+        if (!CuboidRegion.containsBB(bounds, pos)) return false;
         boolean inside = false;
         for (int i = 0, j = points.length - 1; i < points.length; j = i++) {
             if ((points[i].z() > pos.z()) != (points[j].z() > pos.z()) && pos.x() < (points[j].x() - points[i].x()) * (pos.z() - points[i].z()) / (points[j].z() - points[i].z()) + points[i].x()) {
@@ -0,0 +1,12 @@
+package me.carscupcake.sbremake;
+
+import me.carscupcake.sbremake.util.SkyblockSimpleLogger;
+
+public class TestSupport {
+    /**
+     * Sets up {@link Main#LOGGER} for code that logs, it is normally created on startup
+     */
+    public static synchronized void installLogger() {
+        if (Main.LOGGER == null) Main.LOGGER = new SkyblockSimpleLogger();
+    }
+}
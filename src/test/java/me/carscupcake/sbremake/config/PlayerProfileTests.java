@@ -0,0 +1,102 @@
+package me.carscupcake.sbremake.config;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import me.carscupcake.sbremake.TestSupport;
+import me.carscupcake.sbremake.item.BaseSbItem;
+import me.carscupcake.sbremake.item.SbItemStack;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class PlayerProfileTests {
+    @TempDir
+    Path folder;
+
+    @BeforeAll
+    static void setup() {
+        TestSupport.installLogger();
+        SbItemStack.initSbItem(new BaseSbItem(Material.DIAMOND, "Diamond"));
+    }
+
+    private static JsonObject section() {
+        JsonObject nested = new JsonObject();
+        nested.addProperty("xp", 1234.5);
+        nested.add("unlocked", new JsonArray());
+        JsonObject section = new JsonObject();
+        section.addProperty("int", 5);
+        section.addProperty("long", 5_000_000_000L);
+        section.addProperty("double", 0.25);
+        section.addProperty("bool", true);
+        section.addProperty("string", "Grüße ✦");
+        section.add("null", JsonNull.INSTANCE);
+        section.add("nested", nested);
+        return section;
+    }
+
+    private void writeJson(String name, String json) throws IOException {
+        Files.writeString(folder.resolve(name + ".json"), json, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        PlayerProfile profile = PlayerProfile.load(folder.toFile());
+        profile.putSection("default", section());
+        SbItemStack diamonds = SbItemStack.raw("DIAMOND").create().withAmount(12);
+        // A stack without custom data, it gets read back as the base item of its material
+        SbItemStack vanilla = new SbItemStack(ItemStack.of(Material.DIAMOND, 3), SbItemStack.raw("DIAMOND"));
+        profile.putItems("inventory", new SbItemStack[]{diamonds, null, vanilla});
+        profile.saveNow();
+
+        PlayerProfile loaded = PlayerProfile.load(folder.toFile());
+        Assertions.assertEquals(section(), loaded.getSection("default"));
+        Assertions.assertEquals(5, loaded.readSection("default").getRawElement().getAsJsonObject().get("int").getAsInt());
+        SbItemStack[] items = loaded.getItems("inventory");
+        Assertions.assertEquals(3, items.length);
+        Assertions.assertEquals("DIAMOND", items[0].sbItem().getId());
+        Assertions.assertEquals(12, items[0].item().amount());
+        Assertions.assertNull(items[1]);
+        Assertions.assertEquals(Material.DIAMOND, items[2].item().material());
+        Assertions.assertEquals(3, items[2].item().amount());
+    }
+
+    @Test
+    void migratesLegacyJson() throws IOException {
+        writeJson("default", "{\"coins\": 12.5, \"name\": \"Steve\", \"level\": 3}");
+        writeJson("skills", "{\"Mining\": {\"xp\": 100}, \"Farming\": {\"xp\": 0.5}}");
+        writeJson("accessoryBag", "{\"items\": [], \"power\": \"Bloody\"}");
+        writeJson("visited", "[\"hub\", \"gold\"]");
+
+        PlayerProfile profile = PlayerProfile.load(folder.toFile());
+        assertMigrated(profile);
+        Assertions.assertTrue(new File(folder.toFile(), PlayerProfile.FILE_NAME).exists());
+        Assertions.assertFalse(ProfileMigrator.hasLegacyFiles(folder.toFile()));
+        Assertions.assertTrue(folder.resolve("legacy").resolve("default.json").toFile().exists());
+
+        // Read back from the written profile file
+        assertMigrated(PlayerProfile.load(folder.toFile()));
+    }
+
+    private static void assertMigrated(PlayerProfile profile) {
+        Assertions.assertEquals(JsonParser.parseString("{\"coins\": 12.5, \"name\": \"Steve\", \"level\": 3}"), profile.getSection("default"));
+        Assertions.assertEquals(3, profile.readSection("default").getRawElement().getAsJsonObject().get("level").getAsInt());
+        Assertions.assertEquals(JsonParser.parseString("{\"Mining\": {\"xp\": 100}, \"Farming\": {\"xp\": 0.5}}"), profile.getSection("skills"));
+        Assertions.assertEquals(JsonParser.parseString("[\"hub\", \"gold\"]"), profile.getSection("visited"));
+        // The items of the accessory bag are an item section, the rest stays json
+        JsonElement bag = profile.getSection("accessoryBag");
+        Assertions.assertEquals(JsonParser.parseString("{\"power\": \"Bloody\"}"), bag);
+        Assertions.assertEquals(0, profile.getItems("accessoryBag").length);
+    }
+}
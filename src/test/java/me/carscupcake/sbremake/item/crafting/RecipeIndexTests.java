@@ -0,0 +1,168 @@
+package me.carscupcake.sbremake.item.crafting;
+
+import me.carscupcake.sbremake.TestSupport;
+import me.carscupcake.sbremake.item.ISbItem;
+import me.carscupcake.sbremake.item.Recipe;
+import me.carscupcake.sbremake.item.SbItemStack;
+import net.minestom.server.MinecraftServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the {@link RecipeIndex} against testing every loaded recipe in order, like the crafting table did before
+ */
+public class RecipeIndexTests {
+    private static final List<String> ADDED = List.of("test_unindexed", "test_empty_slot", "test_shapeless");
+
+    @BeforeAll
+    static void setup() {
+        TestSupport.installLogger();
+        MinecraftServer.init();
+        ISbItem.init();
+        Recipe.init();
+        ISbItem diamond = SbItemStack.raw("DIAMOND");
+        ISbItem dirt = SbItemStack.raw("DIRT");
+        // An ingredient without items matches an empty slot, so neither recipe can be indexed by its shape
+        Recipe.craftingRecipes.put("test_unindexed", ShapedRecipe.createShapedRecipe(dirt, 1, Map.of('#', new CraftingIngredient(1), '!', new CraftingIngredient(3, dirt)), "#!#"));
+        Recipe.craftingRecipes.put("test_empty_slot", ShapedRecipe.createShapedRecipe(diamond, 1, Map.of('#', new CraftingIngredient(2, diamond), '_', new CraftingIngredient(1)), "#", "_", "#"));
+        Recipe.craftingRecipes.put("test_shapeless", new ShapelessRecipe(diamond, 2, new CraftingIngredient(5, dirt), new CraftingIngredient(1, diamond)));
+    }
+
+    @AfterAll
+    static void cleanup() {
+        for (String id : ADDED) Recipe.craftingRecipes.remove(id);
+    }
+
+    private static Recipe linear(List<SbItemStack> grid) {
+        for (Recipe recipe : Recipe.craftingRecipes.values())
+            if (recipe.creatable(grid)) return recipe;
+        return null;
+    }
+
+    private static void assertSameRecipe(List<SbItemStack> grid) {
+        Assertions.assertSame(linear(grid), RecipeIndex.find(grid), () -> "Different recipe for " + describe(grid));
+    }
+
+    private static String describe(List<SbItemStack> grid) {
+        List<String> items = new ArrayList<>();
+        for (SbItemStack item : grid)
+            items.add(item == SbItemStack.AIR ? "-" : item.sbItem().getId() + "x" + item.item().amount());
+        return items.toString();
+    }
+
+    private static List<SbItemStack> emptyGrid() {
+        return new ArrayList<>(Collections.nCopies(9, SbItemStack.AIR));
+    }
+
+    private static SbItemStack stack(CraftingIngredient ingredient, int amount) {
+        return ingredient.items()[0].create().withAmount(amount);
+    }
+
+    /**
+     * @return the grid of the recipe moved by the rows and columns, or null if it does not fit
+     */
+    private static List<SbItemStack> shifted(ShapedRecipe recipe, int rows, int columns) {
+        List<SbItemStack> grid = emptyGrid();
+        int i = 0;
+        for (int slot : recipe.grid().topLeftSlots()) {
+            CraftingIngredient ingredient = recipe.ingredients().get(i++);
+            int row = slot / 3 + rows, column = slot % 3 + columns;
+            if (row > 2 || column > 2) return null;
+            if (ingredient != null && ingredient.items().length > 0) grid.set(row * 3 + column, stack(ingredient, ingredient.amount()));
+        }
+        return grid;
+    }
+
+    @Test
+    void shapedRecipesInEveryPosition() {
+        int tested = 0;
+        for (Recipe recipe : Recipe.craftingRecipes.values()) {
+            if (!(recipe instanceof ShapedRecipe shaped)) continue;
+            for (int rows = 0; rows < 3; rows++)
+                for (int columns = 0; columns < 3; columns++) {
+                    List<SbItemStack> grid = shifted(shaped, rows, columns);
+                    if (grid == null) continue;
+                    assertSameRecipe(grid);
+                    tested++;
+                }
+        }
+        Assertions.assertTrue(tested > 0);
+    }
+
+    @Test
+    void shapedRecipesWithChangedItems() {
+        for (Recipe recipe : Recipe.craftingRecipes.values()) {
+            if (!(recipe instanceof ShapedRecipe shaped)) continue;
+            List<SbItemStack> grid = shifted(shaped, 0, 0);
+            assert grid != null;
+            for (int slot = 0; slot < 9; slot++) {
+                SbItemStack item = grid.get(slot);
+                List<SbItemStack> changed = new ArrayList<>(grid);
+                if (item == SbItemStack.AIR) {
+                    // An extra item next to the recipe
+                    changed.set(slot, SbItemStack.raw("DIRT").create());
+                } else if (item.item().amount() > 1) {
+                    changed.set(slot, item.withAmount(item.item().amount() - 1));
+                } else {
+                    changed.set(slot, SbItemStack.AIR);
+                }
+                assertSameRecipe(changed);
+            }
+        }
+    }
+
+    @Test
+    void shapelessRecipesInAnyOrder() {
+        int tested = 0;
+        for (Recipe recipe : Recipe.craftingRecipes.values()) {
+            if (!(recipe instanceof ShapelessRecipe shapeless) || shapeless.ingredients().length > 9) continue;
+            CraftingIngredient[] ingredients = shapeless.ingredients();
+            for (int offset = 0; offset + ingredients.length <= 9; offset++) {
+                List<SbItemStack> grid = emptyGrid();
+                List<SbItemStack> reversed = emptyGrid();
+                for (int i = 0; i < ingredients.length; i++) {
+                    grid.set(offset + i, stack(ingredients[i], ingredients[i].amount()));
+                    reversed.set(offset + i, stack(ingredients[ingredients.length - 1 - i], ingredients[ingredients.length - 1 - i].amount()));
+                }
+                assertSameRecipe(grid);
+                assertSameRecipe(reversed);
+                tested++;
+            }
+        }
+        Assertions.assertTrue(tested > 0);
+    }
+
+    @Test
+    void unindexedRecipes() {
+        ISbItem dirt = SbItemStack.raw("DIRT");
+        ISbItem diamond = SbItemStack.raw("DIAMOND");
+        for (int row = 0; row < 3; row++) {
+            List<SbItemStack> grid = emptyGrid();
+            grid.set(row * 3 + 1, dirt.create().withAmount(3));
+            assertSameRecipe(grid);
+            Assertions.assertSame(Recipe.craftingRecipes.get("test_unindexed"), linear(grid));
+        }
+        for (int column = 0; column < 3; column++) {
+            List<SbItemStack> grid = emptyGrid();
+            grid.set(column, diamond.create().withAmount(2));
+            grid.set(column + 6, diamond.create().withAmount(2));
+            assertSameRecipe(grid);
+        }
+    }
+
+    @Test
+    void gridsWithoutRecipe() {
+        assertSameRecipe(emptyGrid());
+        Assertions.assertNull(RecipeIndex.find(emptyGrid()));
+        List<SbItemStack> grid = emptyGrid();
+        grid.set(4, SbItemStack.raw("DIRT").create());
+        assertSameRecipe(grid);
+    }
+}
@@ -0,0 +1,85 @@
+package me.carscupcake.sbremake.item.minion;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+public class OfflineProductionTests {
+    private static final int SAMPLES = 4000;
+
+    /**
+     * Checks the bounds of every sample and that their mean is within 5 standard errors of the expected mean
+     */
+    private static void assertSamples(double mean, double variance, long min, long max, LongSupplier sample) {
+        double sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            long value = sample.getAsLong();
+            Assertions.assertTrue(value >= min && value <= max, value + " is not in [" + min + ", " + max + "]");
+            sum += value;
+        }
+        double tolerance = 5 * Math.sqrt(variance / SAMPLES) + 1e-9;
+        Assertions.assertEquals(mean, sum / SAMPLES, tolerance);
+    }
+
+    private static void assertBinomial(long trials, double chance) {
+        Random random = new Random(42);
+        assertSamples(trials * chance, trials * chance * (1 - chance), 0, trials, () -> OfflineProduction.binomial(trials, chance, random));
+    }
+
+    @Test
+    void binomialEdges() {
+        Random random = new Random(42);
+        Assertions.assertEquals(0, OfflineProduction.binomial(0, 0.5, random));
+        Assertions.assertEquals(0, OfflineProduction.binomial(100, 0, random));
+        Assertions.assertEquals(100, OfflineProduction.binomial(100, 1, random));
+    }
+
+    @Test
+    void binomialExact() {
+        assertBinomial(50, 0.3);
+    }
+
+    @Test
+    void binomialSkipsToSuccesses() {
+        // Few expected successes out of many trials
+        assertBinomial(10_000, 0.001);
+    }
+
+    @Test
+    void binomialApproximated() {
+        assertBinomial(1_000_000, 0.2);
+    }
+
+    @Test
+    void binomialHighChance() {
+        // Mirrored onto the failures
+        assertBinomial(1_000_000, 0.9999);
+        assertBinomial(40, 0.8);
+    }
+
+    private static void assertUniformSum(long times, int min, int max) {
+        Random random = new Random(42);
+        long range = max - min;
+        assertSamples(times * (min + max - 1) / 2d, times * (range * range - 1) / 12d, times * min, times * (max - 1),
+                () -> OfflineProduction.uniformSum(times, min, max, random));
+    }
+
+    @Test
+    void uniformSumEdges() {
+        Random random = new Random(42);
+        Assertions.assertEquals(0, OfflineProduction.uniformSum(0, 1, 3, random));
+        Assertions.assertEquals(20, OfflineProduction.uniformSum(10, 2, 2, random));
+    }
+
+    @Test
+    void uniformSumExact() {
+        assertUniformSum(30, 1, 4);
+    }
+
+    @Test
+    void uniformSumApproximated() {
+        assertUniformSum(1_000_000, 1, 4);
+    }
+}
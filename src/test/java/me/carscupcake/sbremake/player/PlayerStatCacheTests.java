@@ -0,0 +1,106 @@
+package me.carscupcake.sbremake.player;
+
+import me.carscupcake.sbremake.Stat;
+import me.carscupcake.sbremake.worlds.SkyblockWorld;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PlayerStatCacheTests {
+    /**
+     * Strength scales with the coins like the Emerald Blade, health gets a bonus in dungeons like dungeon items
+     */
+    private static class Player implements PlayerStatCache.Source {
+        private double coins;
+        private SkyblockWorld world = SkyblockWorld.Hub;
+        private int computed;
+
+        @Override
+        public double computeStat(Stat stat, boolean isBow) {
+            computed++;
+            return switch (stat) {
+                case Strength -> Math.pow(coins, 0.25);
+                case Health -> world == SkyblockWorld.Dungeon ? 150 : 100;
+                default -> 0;
+            };
+        }
+
+        @Override
+        public int getHeldSlot() {
+            return 0;
+        }
+
+        @Override
+        public StoredPet getPet() {
+            return null;
+        }
+
+        @Override
+        public double getCoins() {
+            return coins;
+        }
+
+        @Override
+        public SkyblockWorld getWorldType() {
+            return world;
+        }
+
+        @Override
+        public String getUsername() {
+            return "Test";
+        }
+    }
+
+    private final Player player = new Player();
+    private final PlayerStatCache cache = new PlayerStatCache(player);
+    private boolean verify;
+
+    @BeforeEach
+    void enableVerify() {
+        verify = PlayerStatCache.isVerify();
+        PlayerStatCache.setVerify(true);
+    }
+
+    @AfterEach
+    void restoreVerify() {
+        PlayerStatCache.setVerify(verify);
+    }
+
+    @Test
+    void cachedWhileInputsStayTheSame() {
+        PlayerStatCache.setVerify(false);
+        cache.get(Stat.Strength, false);
+        cache.get(Stat.Strength, false);
+        Assertions.assertEquals(1, player.computed);
+    }
+
+    /**
+     * Reads twice, the second read is cached and gets compared against a recalculation
+     */
+    private double read(Stat stat) {
+        cache.get(stat, false);
+        return cache.get(stat, false);
+    }
+
+    @Test
+    void coinsChangeTheStats() {
+        long stale = PlayerStatCache.getStaleReads();
+        player.coins = 10_000;
+        Assertions.assertEquals(10, read(Stat.Strength), 1e-9);
+        player.coins = 160_000;
+        Assertions.assertEquals(20, read(Stat.Strength), 1e-9);
+        Assertions.assertEquals(stale, PlayerStatCache.getStaleReads());
+    }
+
+    @Test
+    void worldTypeChangesTheStats() {
+        long stale = PlayerStatCache.getStaleReads();
+        Assertions.assertEquals(100, read(Stat.Health), 1e-9);
+        player.world = SkyblockWorld.Dungeon;
+        Assertions.assertEquals(150, read(Stat.Health), 1e-9);
+        player.world = SkyblockWorld.Hub;
+        Assertions.assertEquals(100, read(Stat.Health), 1e-9);
+        Assertions.assertEquals(stale, PlayerStatCache.getStaleReads());
+    }
+}
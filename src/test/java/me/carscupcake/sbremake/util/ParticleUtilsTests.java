@@ -0,0 +1,75 @@
+package me.carscupcake.sbremake.util;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.packet.server.play.ParticlePacket;
+import net.minestom.server.particle.Particle;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class ParticleUtilsTests {
+    private static final Pos POINT = new Pos(3, 70, 5);
+
+    private static InstanceContainer hub;
+    private static InstanceContainer isle;
+    private static Chunk hubChunk;
+    private static Chunk isleChunk;
+
+    @BeforeAll
+    static void setup() {
+        MinecraftServer.init();
+        hub = MinecraftServer.getInstanceManager().createInstanceContainer();
+        isle = MinecraftServer.getInstanceManager().createInstanceContainer();
+        hub.setChunkLoader(IChunkLoader.noop());
+        isle.setChunkLoader(IChunkLoader.noop());
+        hubChunk = hub.loadChunk(POINT).join();
+        isleChunk = isle.loadChunk(POINT).join();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        MinecraftServer.getInstanceManager().unregisterInstance(hub);
+        MinecraftServer.getInstanceManager().unregisterInstance(isle);
+    }
+
+    /**
+     * One viewer per chunk, named after its instance
+     */
+    private static Map<String, List<SendablePacket>> drain() {
+        return ParticleUtils.drain(chunk -> List.of(chunk == hubChunk ? "hub" : chunk == isleChunk ? "isle" : "other"));
+    }
+
+    private static int count(List<SendablePacket> packets) {
+        Assertions.assertEquals(1, packets.size());
+        return ((ParticlePacket) packets.getFirst()).particleCount();
+    }
+
+    @Test
+    void sameSpotInTwoInstances() {
+        ParticleUtils.queue(hubChunk, POINT, Particle.CRIT, 2, Pos.ZERO, 0);
+        ParticleUtils.queue(isleChunk, POINT, Particle.CRIT, 3, Pos.ZERO, 0);
+        Map<String, List<SendablePacket>> packets = drain();
+        Assertions.assertEquals(2, packets.size());
+        Assertions.assertEquals(2, count(packets.get("hub")));
+        Assertions.assertEquals(3, count(packets.get("isle")));
+    }
+
+    @Test
+    void sameSpotInOneInstanceIsMerged() {
+        ParticleUtils.queue(hubChunk, POINT, Particle.CRIT, 2, Pos.ZERO, 0);
+        ParticleUtils.queue(hubChunk, POINT, Particle.CRIT, 5, Pos.ZERO, 0);
+        Map<String, List<SendablePacket>> packets = drain();
+        Assertions.assertEquals(1, packets.size());
+        Assertions.assertEquals(7, count(packets.get("hub")));
+        Assertions.assertTrue(drain().isEmpty());
+    }
+}